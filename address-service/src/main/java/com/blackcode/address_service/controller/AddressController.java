@@ -1,15 +1,20 @@
 package com.blackcode.address_service.controller;
 
+import com.blackcode.address_service.dto.AddressChangeFeedRes;
 import com.blackcode.address_service.dto.AddressReq;
 import com.blackcode.address_service.dto.AddressRes;
+import com.blackcode.address_service.dto.AddressSnapshotRes;
 import com.blackcode.address_service.service.AddressService;
 import com.blackcode.address_service.utils.ApiResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/address")
@@ -28,9 +33,22 @@ public class AddressController {
     }
 
     @GetMapping("/getAddressById/{id}")
-    public ResponseEntity<ApiResponse<AddressRes>> getAddressById(@PathVariable("id") Long id){
+    public ResponseEntity<ApiResponse<AddressRes>> getAddressById(@PathVariable("id") Long id, WebRequest webRequest){
+        // Revalidation only needs the version column, the entity is loaded when it has changed
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(versionEtag(addressService.getAddressVersion(id)))) {
+            return null;
+        }
         AddressRes addressRes = addressService.getAddressById(id);
-        return ResponseEntity.ok(ApiResponse.success("Address found",200, addressRes));
+        return ResponseEntity.ok()
+                .eTag(versionEtag(addressRes.getVersion()))
+                .body(ApiResponse.success("Address found",200, addressRes));
+    }
+
+    @PostMapping("/getAddressByIds")
+    public ResponseEntity<ApiResponse<List<AddressRes>>> getAddressByIds(@RequestBody Set<Long> ids){
+        List<AddressRes> addressRes = addressService.getAddressByIds(ids);
+        return ResponseEntity.ok(ApiResponse.success("Address retrieved successfully",200, addressRes));
     }
 
     @PostMapping("/addAddress")
@@ -51,6 +69,21 @@ public class AddressController {
         return ResponseEntity.ok(ApiResponse.success("Address deleted successfully", 200, rtn));
     }
 
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponse<AddressChangeFeedRes>> getAddressChanges(
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "limit", defaultValue = "500") int limit){
+        AddressChangeFeedRes changeFeedRes = addressService.getAddressChanges(after, limit);
+        return ResponseEntity.ok(ApiResponse.success("Address changes retrieved successfully", 200, changeFeedRes));
+    }
 
+    @GetMapping("/snapshot")
+    public ResponseEntity<ApiResponse<AddressSnapshotRes>> getAddressSnapshot(){
+        AddressSnapshotRes snapshotRes = addressService.getAddressSnapshot();
+        return ResponseEntity.ok(ApiResponse.success("Address snapshot retrieved successfully", 200, snapshotRes));
+    }
 
+    private static String versionEtag(Long version) {
+        return "W/\"" + version + "\"";
+    }
 }
@@ -0,0 +1,20 @@
+package com.blackcode.address_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class AddressChangeFeedRes {
+
+    private Long latestVersion;
+
+    private List<AddressChangeRes> changes;
+
+}
@@ -20,4 +20,6 @@ public class AddressRes {
 
     private String province;
 
+    private Long version;
+
 }
@@ -0,0 +1,21 @@
+package com.blackcode.address_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class AddressSnapshotRes {
+
+    // Latest change version already reflected in items
+    private Long version;
+
+    private List<AddressRes> items;
+
+}
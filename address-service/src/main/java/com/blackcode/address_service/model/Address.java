@@ -22,5 +22,9 @@ public class Address {
 
     private String province;
 
+    // Existing rows start at 0 when the column is added
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
 
 }
@@ -0,0 +1,34 @@
+package com.blackcode.address_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Append-only log of address writes; each row carries the full state so consumers never call back for it
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "tb_address_change")
+public class AddressChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long version;
+
+    private Long addressId;
+
+    @Enumerated(EnumType.STRING)
+    private ChangeType changeType;
+
+    private String street;
+
+    private String city;
+
+    private String province;
+
+    private LocalDateTime changedAt;
+
+}
@@ -0,0 +1,6 @@
+package com.blackcode.address_service.model;
+
+public enum ChangeType {
+    UPSERT,
+    DELETE
+}
@@ -0,0 +1,19 @@
+package com.blackcode.address_service.repository;
+
+import com.blackcode.address_service.model.AddressChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AddressChangeRepository extends JpaRepository<AddressChange, Long> {
+
+    List<AddressChange> findByVersionGreaterThanOrderByVersionAsc(Long version, Limit limit);
+
+    @Query("SELECT COALESCE(MAX(c.version), 0) FROM AddressChange c")
+    Long findLatestVersion();
+
+}
@@ -2,8 +2,16 @@ package com.blackcode.address_service.repository;
 
 import com.blackcode.address_service.model.Address;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface AddressRepository extends JpaRepository<Address, Long> {
+
+    @Query("SELECT e.version FROM Address e WHERE e.addressId = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
 }
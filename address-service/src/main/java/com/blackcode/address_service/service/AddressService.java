@@ -1,8 +1,11 @@
 package com.blackcode.address_service.service;
 
+import com.blackcode.address_service.dto.AddressChangeFeedRes;
 import com.blackcode.address_service.dto.AddressReq;
 import com.blackcode.address_service.dto.AddressRes;
+import com.blackcode.address_service.dto.AddressSnapshotRes;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -12,11 +15,18 @@ public interface AddressService {
 
     AddressRes getAddressById(Long addressId);
 
+    Long getAddressVersion(Long addressId);
+
+    List<AddressRes> getAddressByIds(Collection<Long> addressIds);
+
     AddressRes addAddress(AddressReq addressReq);
 
     AddressRes updateAddress(Long addressId, AddressReq addressReq);
 
     Map<String, Object> deleteAddress(Long addressId);
 
+    AddressChangeFeedRes getAddressChanges(long afterVersion, int limit);
+
+    AddressSnapshotRes getAddressSnapshot();
 
 }
@@ -1,12 +1,23 @@
 package com.blackcode.address_service.service;
 
+import com.blackcode.address_service.dto.AddressChangeFeedRes;
+import com.blackcode.address_service.dto.AddressChangeRes;
 import com.blackcode.address_service.dto.AddressReq;
 import com.blackcode.address_service.dto.AddressRes;
+import com.blackcode.address_service.dto.AddressSnapshotRes;
 import com.blackcode.address_service.exception.DataNotFoundException;
 import com.blackcode.address_service.model.Address;
+import com.blackcode.address_service.model.AddressChange;
+import com.blackcode.address_service.model.ChangeType;
+import com.blackcode.address_service.repository.AddressChangeRepository;
 import com.blackcode.address_service.repository.AddressRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -14,10 +25,17 @@ import java.util.Map;
 @Service
 public class AddressServiceImpl implements AddressService{
 
+    private static final int MAX_IDS_PER_REQUEST = 1000;
+
+    private static final int MAX_CHANGES_PER_REQUEST = 1000;
+
     private final AddressRepository addressRepository;
 
-    public AddressServiceImpl(AddressRepository addressRepository) {
+    private final AddressChangeRepository addressChangeRepository;
+
+    public AddressServiceImpl(AddressRepository addressRepository, AddressChangeRepository addressChangeRepository) {
         this.addressRepository = addressRepository;
+        this.addressChangeRepository = addressChangeRepository;
     }
 
     @Override
@@ -37,17 +55,35 @@ public class AddressServiceImpl implements AddressService{
     }
 
     @Override
+    public Long getAddressVersion(Long addressId) {
+        return addressRepository.findVersionById(addressId)
+                .orElseThrow(() -> new DataNotFoundException("Address Not Found with id : "+addressId));
+    }
+
+    @Override
+    public List<AddressRes> getAddressByIds(Collection<Long> addressIds) {
+        if (addressIds.size() > MAX_IDS_PER_REQUEST) {
+            throw new IllegalArgumentException("At most " + MAX_IDS_PER_REQUEST + " ids can be requested at once");
+        }
+        List<Address> addressList = addressRepository.findAllById(addressIds);
+        return addressList.stream().map(this::mapToAddressRes).toList();
+    }
+
+    @Override
+    @Transactional
     public AddressRes addAddress(AddressReq addressReq) {
         Address address = new Address();
         address.setStreet(addressReq.getStreet());
         address.setCity(addressReq.getCity());
         address.setProvince(addressReq.getProvince());
         Address saveAddress = addressRepository.save(address);
+        recordChange(saveAddress.getAddressId(), ChangeType.UPSERT, saveAddress);
         return mapToAddressRes(saveAddress);
 
     }
 
     @Override
+    @Transactional
     public AddressRes updateAddress(Long addressId, AddressReq addressReq) {
         Address address = addressRepository.findById(addressId)
                 .orElseThrow(() -> new DataNotFoundException("Address Not Found with id : "+ addressId));
@@ -56,15 +92,18 @@ public class AddressServiceImpl implements AddressService{
         address.setCity(addressReq.getCity());
         address.setProvince(addressReq.getProvince());
         Address updateAddress = addressRepository.save(address);
+        recordChange(updateAddress.getAddressId(), ChangeType.UPSERT, updateAddress);
         return mapToAddressRes(updateAddress);
 
     }
 
     @Override
+    @Transactional
     public Map<String, Object> deleteAddress(Long addressId) {
         Address address = addressRepository.findById(addressId)
                 .orElseThrow(() -> new DataNotFoundException("Address Not Found with id :"+addressId));
         addressRepository.deleteById(addressId);
+        recordChange(addressId, ChangeType.DELETE, null);
         Map<String, Object> responseData = new HashMap<>();
         responseData.put("deleteAddressId", addressId);
         responseData.put("info", "The Address was removed from the database");
@@ -72,12 +111,58 @@ public class AddressServiceImpl implements AddressService{
 
     }
 
+    @Override
+    public AddressChangeFeedRes getAddressChanges(long afterVersion, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_CHANGES_PER_REQUEST));
+        Long latestVersion = addressChangeRepository.findLatestVersion();
+        List<AddressChangeRes> changes = addressChangeRepository
+                .findByVersionGreaterThanOrderByVersionAsc(afterVersion, Limit.of(pageSize))
+                .stream().map(this::mapToAddressChangeRes).toList();
+        return new AddressChangeFeedRes(latestVersion, changes);
+    }
+
+    // Repeatable read so the returned version and rows come from the same database snapshot
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public AddressSnapshotRes getAddressSnapshot() {
+        Long version = addressChangeRepository.findLatestVersion();
+        List<AddressRes> items = addressRepository.findAll().stream().map(this::mapToAddressRes).toList();
+        return new AddressSnapshotRes(version, items);
+    }
+
+    // Written in the same transaction as the address itself, so the log never disagrees with the table
+    private void recordChange(Long addressId, ChangeType changeType, Address address) {
+        AddressChange change = new AddressChange();
+        change.setAddressId(addressId);
+        change.setChangeType(changeType);
+        if (address != null) {
+            change.setStreet(address.getStreet());
+            change.setCity(address.getCity());
+            change.setProvince(address.getProvince());
+        }
+        change.setChangedAt(LocalDateTime.now());
+        addressChangeRepository.save(change);
+    }
+
+    private AddressChangeRes mapToAddressChangeRes(AddressChange change){
+        AddressRes addressRes = null;
+        if (change.getChangeType() == ChangeType.UPSERT) {
+            addressRes = new AddressRes();
+            addressRes.setAddressId(change.getAddressId());
+            addressRes.setStreet(change.getStreet());
+            addressRes.setCity(change.getCity());
+            addressRes.setProvince(change.getProvince());
+        }
+        return new AddressChangeRes(change.getVersion(), change.getChangeType().name(), change.getAddressId(), addressRes, change.getChangedAt());
+    }
+
     private AddressRes mapToAddressRes(Address address){
         AddressRes addressRes = new AddressRes();
         addressRes.setAddressId(address.getAddressId());
         addressRes.setStreet(address.getStreet());
         addressRes.setCity(address.getCity());
         addressRes.setProvince(address.getProvince());
+        addressRes.setVersion(address.getVersion());
         return addressRes;
     }
 }
@@ -0,0 +1,78 @@
+package com.blackcode.api_gateway.filter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Gives every routed request a time budget and forwards it in {@link #HEADER}.
+ * Services subtract the time they have spent before calling the next hop, and the
+ * gateway answers 504 once the budget is gone instead of waiting on the route.
+ */
+@Component
+public class DeadlineFilter implements GlobalFilter, Ordered {
+
+    // Remaining milliseconds, so services do not depend on clocks agreeing with the gateway
+    public static final String HEADER = "X-Request-Budget-Ms";
+
+    @Value("${blackcode.app.deadline.defaultMs:10000}")
+    private long defaultMs;
+
+    @Value("${blackcode.app.deadline.maxMs:30000}")
+    private long maxMs;
+
+    @Value("${blackcode.app.deadline.excludedPaths:}")
+    private List<String> excludedPaths;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String path = exchange.getRequest().getURI().getPath();
+        if (excludedPaths.stream().anyMatch(path::startsWith)) {
+            // Long-running transfers are bounded by the services themselves
+            return chain.filter(exchange.mutate()
+                    .request(r -> r.headers(headers -> headers.remove(HEADER)))
+                    .build());
+        }
+
+        long budgetMs = clientBudget(exchange.getRequest().getHeaders().getFirst(HEADER));
+        ServerWebExchange mutatedExchange = exchange.mutate()
+                .request(r -> r.headers(headers -> headers.set(HEADER, String.valueOf(budgetMs))))
+                .build();
+
+        return chain.filter(mutatedExchange)
+                .timeout(Duration.ofMillis(budgetMs))
+                .onErrorResume(TimeoutException.class, e -> {
+                    ServerHttpResponse response = exchange.getResponse();
+                    if (response.isCommitted()) return Mono.error(e);
+                    response.setStatusCode(HttpStatus.GATEWAY_TIMEOUT);
+                    return response.setComplete();
+                });
+    }
+
+    // A client may ask for a shorter budget than the default, never for more than the maximum
+    private long clientBudget(String header) {
+        if (header == null || header.isBlank()) return defaultMs;
+        try {
+            long requested = Long.parseLong(header.trim());
+            return requested > 0 ? Math.min(requested, maxMs) : defaultMs;
+        } catch (NumberFormatException e) {
+            return defaultMs;
+        }
+    }
+
+    // Before authentication, so the budget also covers the time spent there
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
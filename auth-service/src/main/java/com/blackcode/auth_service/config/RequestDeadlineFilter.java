@@ -0,0 +1,47 @@
+package com.blackcode.auth_service.config;
+
+import com.blackcode.auth_service.helper.RequestDeadline;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Starts the request deadline from the caller's budget; requests without the header keep per-call timeouts only
+@Component
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Long budgetMs = parseBudget(request.getHeader(RequestDeadline.HEADER));
+        if (budgetMs == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (budgetMs <= 0) {
+            // The caller has already given up
+            response.setStatus(HttpStatus.GATEWAY_TIMEOUT.value());
+            return;
+        }
+        RequestDeadline.start(budgetMs);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    private Long parseBudget(String header) {
+        if (header == null || header.isBlank()) return null;
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.blackcode.auth_service.controller;
+
+import com.blackcode.auth_service.dto.AuthAuditPageRes;
+import com.blackcode.auth_service.service.AuthAuditService;
+import com.blackcode.auth_service.utils.ApiResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/auth/audit")
+public class AuthAuditController {
+
+    private final AuthAuditService authAuditService;
+
+    public AuthAuditController(AuthAuditService authAuditService) {
+        this.authAuditService = authAuditService;
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<AuthAuditPageRes>> getAuditLog(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "50") int size) {
+        AuthAuditPageRes auditPageRes = authAuditService.getAuditLog(from, to, page, size);
+        return ResponseEntity.ok(ApiResponse.success("Audit log retrieved successfully", 200, auditPageRes));
+    }
+}
@@ -1,18 +1,25 @@
 package com.blackcode.auth_service.controller;
 
 import com.blackcode.auth_service.dto.*;
+import com.blackcode.auth_service.service.TokenIntrospectionService;
 import com.blackcode.auth_service.service.UserAuthService;
 import com.blackcode.auth_service.utils.ApiResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
@@ -21,8 +28,14 @@ public class AuthController {
 
     private final UserAuthService userAuthService;
 
-    public AuthController(UserAuthService userAuthService) {
+    private final TokenIntrospectionService tokenIntrospectionService;
+
+    @Value("${blackcode.app.introspect.maxCacheSeconds:60}")
+    private long introspectMaxCacheSeconds;
+
+    public AuthController(UserAuthService userAuthService, TokenIntrospectionService tokenIntrospectionService) {
         this.userAuthService = userAuthService;
+        this.tokenIntrospectionService = tokenIntrospectionService;
     }
 
     @PostMapping("/signin")
@@ -49,4 +62,23 @@ public class AuthController {
         return ResponseEntity.ok(ApiResponse.success("Logout successful", 200, petugasMessageRes));
     }
 
+    @PostMapping("/introspect")
+    public ResponseEntity<ApiResponse<List<IntrospectRes>>> introspect(@Valid @RequestBody IntrospectReq request) {
+        List<IntrospectRes> introspectRes = tokenIntrospectionService.introspect(request.getTokens());
+
+        // Cache no longer than the shortest remaining lifetime of any active token, capped to bound revocation lag
+        Instant now = Instant.now();
+        long maxAgeSeconds = introspectRes.stream()
+                .filter(IntrospectRes::isActive)
+                .filter(res -> res.getExpiresAt() != null)
+                .mapToLong(res -> Duration.between(now, res.getExpiresAt()).getSeconds())
+                .min()
+                .orElse(introspectMaxCacheSeconds);
+        maxAgeSeconds = Math.max(0, Math.min(maxAgeSeconds, introspectMaxCacheSeconds));
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePrivate())
+                .body(ApiResponse.success("Token introspection completed", 200, introspectRes));
+    }
+
 }
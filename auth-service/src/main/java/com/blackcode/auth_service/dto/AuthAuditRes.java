@@ -0,0 +1,30 @@
+package com.blackcode.auth_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class AuthAuditRes {
+
+    private Long id;
+
+    private String eventType;
+
+    private String userId;
+
+    private String username;
+
+    private Boolean success;
+
+    private String detail;
+
+    private LocalDateTime createdAt;
+
+}
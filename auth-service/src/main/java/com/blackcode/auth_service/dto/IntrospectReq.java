@@ -0,0 +1,16 @@
+package com.blackcode.auth_service.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class IntrospectReq {
+
+    @NotEmpty
+    private List<String> tokens;
+
+}
@@ -0,0 +1,24 @@
+package com.blackcode.auth_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class IntrospectRes {
+
+    private String token;
+
+    private boolean active;
+
+    private String subject;
+
+    private Instant expiresAt;
+
+}
@@ -0,0 +1,11 @@
+package com.blackcode.auth_service.exception;
+
+public class DeadlineExceededException extends RuntimeException{
+    public DeadlineExceededException(String message){
+        super(message);
+    }
+
+    public DeadlineExceededException(String message, Throwable cause){
+        super(message, cause);
+    }
+}
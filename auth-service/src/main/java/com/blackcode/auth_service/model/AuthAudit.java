@@ -0,0 +1,36 @@
+package com.blackcode.auth_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "tb_auth_audit", indexes = @Index(name = "idx_auth_audit_created_at", columnList = "createdAt"))
+public class AuthAudit {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private AuthAuditEventType eventType;
+
+    private String userId;
+
+    private String username;
+
+    @Column(nullable = false)
+    private Boolean success;
+
+    private String detail;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
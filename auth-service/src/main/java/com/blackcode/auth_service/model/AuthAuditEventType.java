@@ -0,0 +1,9 @@
+package com.blackcode.auth_service.model;
+
+public enum AuthAuditEventType {
+    SIGN_IN_SUCCESS,
+    SIGN_IN_FAILURE,
+    REFRESH_SUCCESS,
+    REFRESH_FAILURE,
+    SIGN_OUT
+}
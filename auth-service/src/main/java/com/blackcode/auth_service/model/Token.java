@@ -11,7 +11,7 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
-@Table(name = "tb_token")
+@Table(name = "tb_token", indexes = @Index(name = "idx_token_token", columnList = "token"))
 public class Token {
 
     @Id
@@ -0,0 +1,16 @@
+package com.blackcode.auth_service.repository;
+
+import com.blackcode.auth_service.model.AuthAudit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface AuthAuditRepository extends JpaRepository<AuthAudit, Long> {
+
+    Page<AuthAudit> findByCreatedAtBetween(LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+}
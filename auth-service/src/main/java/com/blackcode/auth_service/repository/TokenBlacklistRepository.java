@@ -2,9 +2,13 @@ package com.blackcode.auth_service.repository;
 
 import com.blackcode.auth_service.model.TokenBlacklist;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,6 +16,9 @@ public interface TokenBlacklistRepository extends JpaRepository<TokenBlacklist,
 
     Optional<TokenBlacklist> findByToken(String token);
 
+    @Query("SELECT tb.token FROM TokenBlacklist tb WHERE tb.token IN :tokens AND tb.isActive = false")
+    List<String> findBlacklistedTokens(@Param("tokens") Collection<String> tokens);
+
     void deleteByExpiryDateBefore(LocalDateTime date);
 
 }
@@ -4,6 +4,8 @@ import com.blackcode.auth_service.model.Token;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,6 +13,8 @@ public interface TokenRepository extends JpaRepository<Token, Long> {
 
     Optional<Token> findByToken(String token);
 
+    List<Token> findByTokenIn(Collection<String> tokens);
+
     Optional<Token> findByUserId(String userId);
 
     Optional<Token> findByUserIdAndToken(String userId, String token);
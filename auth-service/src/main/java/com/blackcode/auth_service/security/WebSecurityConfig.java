@@ -64,6 +64,8 @@ public class WebSecurityConfig {
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Reveals whether a token is live and whose it is, so only authenticated callers may ask
+                        .requestMatchers("/api/auth/introspect").authenticated()
                         .requestMatchers("/api/auth/**").permitAll()
 //                        .requestMatchers("/api/public/**").permitAll()
 //                        .requestMatchers("/api/petugas/**").hasAnyRole("ADMIN", "PETUGAS")
@@ -3,6 +3,7 @@ package com.blackcode.auth_service.security.jwt;
 import com.blackcode.auth_service.exception.InvalidJwtException;
 import com.blackcode.auth_service.exception.TokenExpiredException;
 import com.blackcode.auth_service.security.service.UserAuthDetailsImpl;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
@@ -53,6 +54,22 @@ public class JwtUtils {
                 .getSubject();
     }
 
+    public Claims parseClaims(String token){
+        try {
+            return Jwts.parserBuilder()
+                    .setSigningKey(getSigningKey())
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+        }catch (ExpiredJwtException e) {
+            throw new TokenExpiredException("Token has expired", e);
+        } catch (JwtException e) {
+            throw new InvalidJwtException("Invalid JWT token", e);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidJwtException("Token is null or empty", e);
+        }
+    }
+
     public void assertValidToken(String token){
         try {
             Jwts.parserBuilder()
@@ -7,7 +7,6 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -25,10 +24,15 @@ public class UserAuthDetailsImpl implements UserDetails {
     private final Collection<? extends GrantedAuthority> authorities;
 
     public UserAuthDetailsImpl(String userId, String username, String password) {
+        this(userId, username, password, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    public UserAuthDetailsImpl(String userId, String username, String password,
+                               Collection<? extends GrantedAuthority> authorities) {
         this.userId = userId;
         this.username = username;
         this.password = password;
-        this.authorities = Collections.emptyList();
+        this.authorities = authorities;
     }
 
     public static UserAuthDetailsImpl build(UserAuth userAuth) {
@@ -39,9 +43,18 @@ public class UserAuthDetailsImpl implements UserDetails {
         );
     }
 
+    public static UserAuthDetailsImpl buildAdmin(UserAuth userAuth) {
+        return new UserAuthDetailsImpl(
+                userAuth.getUserId(),
+                userAuth.getUsername(),
+                userAuth.getPassword(),
+                List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"))
+        );
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        return authorities;
     }
 
 
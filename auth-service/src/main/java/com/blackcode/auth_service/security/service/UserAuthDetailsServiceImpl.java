@@ -3,16 +3,23 @@ package com.blackcode.auth_service.security.service;
 import com.blackcode.auth_service.model.UserAuth;
 import com.blackcode.auth_service.repository.UserAuthRepository;
 import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Set;
+
 @Service
 public class UserAuthDetailsServiceImpl implements UserDetailsService {
 
     private final UserAuthRepository userAuthRepository;
 
+    // Accounts allowed to read operational data such as the auth audit log
+    @Value("${blackcode.app.adminUsernames:}")
+    private Set<String> adminUsernames;
+
     public UserAuthDetailsServiceImpl(UserAuthRepository userAuthRepository) {
         this.userAuthRepository = userAuthRepository;
     }
@@ -23,7 +30,9 @@ public class UserAuthDetailsServiceImpl implements UserDetailsService {
         UserAuth userAuth = userAuthRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Staff Not Found with username: " + username));;
 
-        return UserAuthDetailsImpl.build(userAuth);
+        return adminUsernames.contains(userAuth.getUsername())
+                ? UserAuthDetailsImpl.buildAdmin(userAuth)
+                : UserAuthDetailsImpl.build(userAuth);
     }
 
 }
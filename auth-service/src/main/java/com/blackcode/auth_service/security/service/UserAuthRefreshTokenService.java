@@ -56,6 +56,12 @@ public class UserAuthRefreshTokenService {
         return refreshToken;
     }
 
+    public Optional<RefreshToken> findReusableToken(String userId, long minRemainingMs){
+        Instant threshold = Instant.now().plusMillis(minRemainingMs);
+        return refreshTokenRepository.findByUserAuthId(userId)
+                .filter(token -> token.getExpiryDate().isAfter(threshold));
+    }
+
     public RefreshToken verifyExpiration(RefreshToken token){
         if(token.getExpiryDate().compareTo(Instant.now()) < 0){
             refreshTokenRepository.delete(token);
@@ -7,6 +7,7 @@ import com.blackcode.auth_service.repository.UserAuthRepository;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
@@ -55,6 +56,13 @@ public class UserAuthTokenService {
         }
     }
 
+    public Optional<Token> findReusableToken(String userId, long minRemainingMs){
+        LocalDateTime threshold = LocalDateTime.now().plus(Duration.ofMillis(minRemainingMs));
+        return tokenRepository.findByUserId(userId)
+                .filter(Token::getIsActive)
+                .filter(token -> token.getExpiryDate().isAfter(threshold));
+    }
+
     public void processStaffTokenRefresh(String userName, String jwt){
         Date date = new Date((new Date()).getTime() + jwtExpirationMs);
         LocalDateTime localDateTime = date.toInstant()
@@ -0,0 +1,14 @@
+package com.blackcode.auth_service.service;
+
+import com.blackcode.auth_service.dto.AuthAuditPageRes;
+import com.blackcode.auth_service.model.AuthAuditEventType;
+
+import java.time.LocalDateTime;
+
+public interface AuthAuditService {
+
+    void record(AuthAuditEventType eventType, String userId, String username, boolean success, String detail);
+
+    AuthAuditPageRes getAuditLog(LocalDateTime from, LocalDateTime to, int page, int size);
+
+}
@@ -0,0 +1,11 @@
+package com.blackcode.auth_service.service;
+
+import com.blackcode.auth_service.dto.IntrospectRes;
+
+import java.util.List;
+
+public interface TokenIntrospectionService {
+
+    List<IntrospectRes> introspect(List<String> tokens);
+
+}
@@ -0,0 +1,212 @@
+package com.blackcode.auth_service.service.impl;
+
+import com.blackcode.auth_service.dto.AuthAuditPageRes;
+import com.blackcode.auth_service.dto.AuthAuditRes;
+import com.blackcode.auth_service.helper.AuditRingBuffer;
+import com.blackcode.auth_service.model.AuthAudit;
+import com.blackcode.auth_service.model.AuthAuditEventType;
+import com.blackcode.auth_service.repository.AuthAuditRepository;
+import com.blackcode.auth_service.service.AuthAuditService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+@Service
+public class AuthAuditServiceImpl implements AuthAuditService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthAuditServiceImpl.class);
+
+    private static final String INSERT_AUDIT_SQL =
+            "INSERT INTO tb_auth_audit (event_type, user_id, username, success, detail, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    @Value("${blackcode.app.audit.bufferCapacity:8192}")
+    private int bufferCapacity;
+
+    @Value("${blackcode.app.audit.batchSize:500}")
+    private int batchSize;
+
+    @Value("${blackcode.app.audit.flushIntervalMs:1000}")
+    private long flushIntervalMs;
+
+    @Value("${blackcode.app.audit.overflowPolicy:DROP}")
+    private String overflowPolicy;
+
+    @Value("${blackcode.app.audit.blockTimeoutMs:50}")
+    private long blockTimeoutMs;
+
+    @Value("${blackcode.app.audit.maxPageSize:500}")
+    private int maxPageSize;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AuthAuditRepository authAuditRepository;
+
+    private final MeterRegistry meterRegistry;
+
+    private AuditRingBuffer<AuthAudit> buffer;
+
+    private Counter droppedCounter;
+
+    private Counter writtenCounter;
+
+    private Counter failedCounter;
+
+    private Thread writerThread;
+
+    private volatile boolean running;
+
+    public AuthAuditServiceImpl(JdbcTemplate jdbcTemplate,
+                                AuthAuditRepository authAuditRepository,
+                                MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.authAuditRepository = authAuditRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        buffer = new AuditRingBuffer<>(bufferCapacity);
+        droppedCounter = meterRegistry.counter("auth.audit.events.dropped");
+        writtenCounter = meterRegistry.counter("auth.audit.events.written");
+        failedCounter = meterRegistry.counter("auth.audit.events.failed");
+        Gauge.builder("auth.audit.buffer.size", buffer, AuditRingBuffer::size).register(meterRegistry);
+
+        running = true;
+        writerThread = new Thread(this::writeLoop, "auth-audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        logger.info("Auth audit writer started (capacity={}, batchSize={}, flushIntervalMs={}, overflowPolicy={})",
+                buffer.capacity(), batchSize, flushIntervalMs, overflowPolicy);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @Override
+    public void record(AuthAuditEventType eventType, String userId, String username, boolean success, String detail) {
+        AuthAudit audit = new AuthAudit();
+        audit.setEventType(eventType);
+        audit.setUserId(userId);
+        audit.setUsername(username);
+        audit.setSuccess(success);
+        audit.setDetail(detail);
+        audit.setCreatedAt(LocalDateTime.now());
+
+        if (buffer.offer(audit)) {
+            return;
+        }
+        if ("BLOCK".equalsIgnoreCase(overflowPolicy) && offerBlocking(audit)) {
+            return;
+        }
+        droppedCounter.increment();
+    }
+
+    @Override
+    public AuthAuditPageRes getAuditLog(LocalDateTime from, LocalDateTime to, int page, int size) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), pageSize, Sort.by(Sort.Direction.DESC, "createdAt"));
+        Page<AuthAudit> auditPage = authAuditRepository.findByCreatedAtBetween(from, to, pageRequest);
+
+        List<AuthAuditRes> content = auditPage.getContent().stream().map(this::mapToAuthAuditRes).toList();
+        return new AuthAuditPageRes(content, auditPage.getNumber(), auditPage.getSize(),
+                auditPage.getTotalElements(), auditPage.getTotalPages());
+    }
+
+    private boolean offerBlocking(AuthAudit audit) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+        while (running && System.nanoTime() < deadline) {
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            if (buffer.offer(audit)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeLoop() {
+        List<AuthAudit> batch = new ArrayList<>(batchSize);
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        long lastFlush = System.nanoTime();
+
+        while (running || !buffer.isEmpty()) {
+            int drained = buffer.drainTo(batch, batchSize - batch.size());
+            long now = System.nanoTime();
+            boolean full = batch.size() >= batchSize;
+            boolean due = now - lastFlush >= flushIntervalNanos;
+
+            if (!batch.isEmpty() && (full || due || !running)) {
+                flush(batch);
+                batch.clear();
+                lastFlush = now;
+            } else if (batch.isEmpty()) {
+                lastFlush = now;
+            }
+
+            if (drained == 0 && running) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+        logger.info("Auth audit writer stopped");
+    }
+
+    private void flush(List<AuthAudit> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_AUDIT_SQL, batch, batch.size(), (ps, audit) -> {
+                ps.setString(1, audit.getEventType().name());
+                ps.setString(2, audit.getUserId());
+                ps.setString(3, audit.getUsername());
+                ps.setBoolean(4, audit.getSuccess());
+                ps.setString(5, audit.getDetail());
+                ps.setTimestamp(6, Timestamp.valueOf(audit.getCreatedAt()));
+            });
+            writtenCounter.increment(batch.size());
+        } catch (Exception e) {
+            failedCounter.increment(batch.size());
+            logger.error("Failed to write {} auth audit events: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private AuthAuditRes mapToAuthAuditRes(AuthAudit audit) {
+        AuthAuditRes auditRes = new AuthAuditRes();
+        auditRes.setId(audit.getId());
+        auditRes.setEventType(audit.getEventType().name());
+        auditRes.setUserId(audit.getUserId());
+        auditRes.setUsername(audit.getUsername());
+        auditRes.setSuccess(audit.getSuccess());
+        auditRes.setDetail(audit.getDetail());
+        auditRes.setCreatedAt(audit.getCreatedAt());
+        return auditRes;
+    }
+}
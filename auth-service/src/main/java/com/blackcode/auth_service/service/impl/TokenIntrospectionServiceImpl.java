@@ -0,0 +1,93 @@
+package com.blackcode.auth_service.service.impl;
+
+import com.blackcode.auth_service.dto.IntrospectRes;
+import com.blackcode.auth_service.exception.TokenExpiredException;
+import com.blackcode.auth_service.model.Token;
+import com.blackcode.auth_service.repository.TokenBlacklistRepository;
+import com.blackcode.auth_service.repository.TokenRepository;
+import com.blackcode.auth_service.security.jwt.JwtUtils;
+import com.blackcode.auth_service.service.TokenIntrospectionService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+public class TokenIntrospectionServiceImpl implements TokenIntrospectionService {
+
+    @Value("${blackcode.app.introspect.maxTokens:200}")
+    private int maxTokens;
+
+    private final JwtUtils jwtUtils;
+
+    private final TokenRepository tokenRepository;
+
+    private final TokenBlacklistRepository tokenBlacklistRepository;
+
+    public TokenIntrospectionServiceImpl(JwtUtils jwtUtils,
+                                         TokenRepository tokenRepository,
+                                         TokenBlacklistRepository tokenBlacklistRepository) {
+        this.jwtUtils = jwtUtils;
+        this.tokenRepository = tokenRepository;
+        this.tokenBlacklistRepository = tokenBlacklistRepository;
+    }
+
+    @Override
+    public List<IntrospectRes> introspect(List<String> tokens) {
+        if (tokens.size() > maxTokens) {
+            throw new IllegalArgumentException("At most " + maxTokens + " tokens can be introspected per request");
+        }
+
+        // Each distinct token is parsed and signature-checked exactly once
+        Map<String, Claims> validClaims = new HashMap<>();
+        Map<String, Claims> expiredClaims = new HashMap<>();
+        for (String token : new LinkedHashSet<>(tokens)) {
+            if (token == null || validClaims.containsKey(token) || expiredClaims.containsKey(token)) {
+                continue;
+            }
+            try {
+                validClaims.put(token, jwtUtils.parseClaims(token));
+            } catch (TokenExpiredException e) {
+                expiredClaims.put(token, ((ExpiredJwtException) e.getCause()).getClaims());
+            } catch (RuntimeException e) {
+                // Invalid signature or malformed token, reported as inactive without claims
+            }
+        }
+
+        Set<String> currentTokens = Collections.emptySet();
+        Set<String> blacklistedTokens = Collections.emptySet();
+        if (!validClaims.isEmpty()) {
+            currentTokens = tokenRepository.findByTokenIn(validClaims.keySet()).stream()
+                    .filter(Token::getIsActive)
+                    .map(Token::getToken)
+                    .collect(Collectors.toSet());
+            blacklistedTokens = new HashSet<>(tokenBlacklistRepository.findBlacklistedTokens(validClaims.keySet()));
+        }
+
+        List<IntrospectRes> results = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            Claims claims = validClaims.get(token);
+            if (claims != null) {
+                boolean active = currentTokens.contains(token) && !blacklistedTokens.contains(token);
+                results.add(mapToIntrospectRes(token, active, claims));
+            } else if (expiredClaims.containsKey(token)) {
+                results.add(mapToIntrospectRes(token, false, expiredClaims.get(token)));
+            } else {
+                results.add(new IntrospectRes(token, false, null, null));
+            }
+        }
+        return results;
+    }
+
+    private IntrospectRes mapToIntrospectRes(String token, boolean active, Claims claims) {
+        IntrospectRes introspectRes = new IntrospectRes();
+        introspectRes.setToken(token);
+        introspectRes.setActive(active);
+        introspectRes.setSubject(claims.getSubject());
+        introspectRes.setExpiresAt(claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+        return introspectRes;
+    }
+}
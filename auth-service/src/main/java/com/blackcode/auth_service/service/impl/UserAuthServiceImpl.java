@@ -4,6 +4,7 @@ import com.blackcode.auth_service.dto.*;
 import com.blackcode.auth_service.exception.TokenRefreshException;
 import com.blackcode.auth_service.exception.UserServiceUnavailableException;
 import com.blackcode.auth_service.exception.UsernameAlreadyExistsException;
+import com.blackcode.auth_service.model.AuthAuditEventType;
 import com.blackcode.auth_service.model.RefreshToken;
 import com.blackcode.auth_service.model.Token;
 import com.blackcode.auth_service.model.UserAuth;
@@ -13,16 +14,19 @@ import com.blackcode.auth_service.security.jwt.JwtUtils;
 import com.blackcode.auth_service.security.service.UserAuthDetailsImpl;
 import com.blackcode.auth_service.security.service.UserAuthRefreshTokenService;
 import com.blackcode.auth_service.security.service.UserAuthTokenService;
+import com.blackcode.auth_service.service.AuthAuditService;
 import com.blackcode.auth_service.service.UserAuthService;
 import com.blackcode.auth_service.service.UserClientService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -51,13 +55,22 @@ public class UserAuthServiceImpl implements UserAuthService {
 
     private final UserClientService userClientService;
 
+    private final AuthAuditService authAuditService;
+
+    @Value("${blackcode.app.signIn.reuseActiveSession:false}")
+    private boolean reuseActiveSession;
+
+    @Value("${blackcode.app.signIn.reuseMinRemainingMs:300000}")
+    private long reuseMinRemainingMs;
+
     public UserAuthServiceImpl(PasswordEncoder encoder,
                                AuthenticationManager authenticationManager,
                                UserAuthRepository userAuthRepository,
                                TokenRepository tokenRepository,
                                UserAuthTokenService userAuthTokenService,
                                JwtUtils jwtUtils,
-                               UserAuthRefreshTokenService userAuthRefreshTokenService, UserClientService userClientService) {
+                               UserAuthRefreshTokenService userAuthRefreshTokenService, UserClientService userClientService,
+                               AuthAuditService authAuditService) {
         this.encoder = encoder;
         this.authenticationManager = authenticationManager;
         this.userAuthRepository = userAuthRepository;
@@ -66,27 +79,43 @@ public class UserAuthServiceImpl implements UserAuthService {
         this.jwtUtils = jwtUtils;
         this.userAuthRefreshTokenService = userAuthRefreshTokenService;
         this.userClientService = userClientService;
+        this.authAuditService = authAuditService;
     }
 
     @Override
     public JwtRes signIn(LoginReq loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
-                loginRequest.getUsername(),
-                loginRequest.getPassword()
-        ));
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
+                    loginRequest.getUsername(),
+                    loginRequest.getPassword()
+            ));
+        } catch (AuthenticationException e) {
+            authAuditService.record(AuthAuditEventType.SIGN_IN_FAILURE, null, loginRequest.getUsername(), false, e.getClass().getSimpleName());
+            throw e;
+        }
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         UserAuthDetailsImpl userAuthDetails = (UserAuthDetailsImpl) authentication.getPrincipal();
 
-        String jwt = jwtUtils.generateJwtTokenUserAuth(userAuthDetails);
-        userAuthTokenService.processUserAuthTokenAdd(userAuthDetails.getUserId(), jwt);
+        if (reuseActiveSession) {
+            Optional<JwtRes> activeSession = findReusableSession(userAuthDetails);
+            if (activeSession.isPresent()) {
+                logger.info("User {} signed in with reused active session", userAuthDetails.getUsername());
+                authAuditService.record(AuthAuditEventType.SIGN_IN_SUCCESS, userAuthDetails.getUserId(), userAuthDetails.getUsername(), true, "Reused active session");
+                return activeSession.get();
+            }
+        }
 
+        // createRefreshToken also stores the access token, so tb_token is written once per sign-in
+        String jwt = jwtUtils.generateJwtTokenUserAuth(userAuthDetails);
         RefreshToken refreshToken = userAuthRefreshTokenService.createRefreshToken(
                 jwt,
                 userAuthDetails.getUserId()
         );
 
         logger.info("User {} signed in successfully", userAuthDetails.getUsername());
+        authAuditService.record(AuthAuditEventType.SIGN_IN_SUCCESS, userAuthDetails.getUserId(), userAuthDetails.getUsername(), true, null);
 
         return new JwtRes(
                 jwt,
@@ -96,6 +125,33 @@ public class UserAuthServiceImpl implements UserAuthService {
         );
     }
 
+    private Optional<JwtRes> findReusableSession(UserAuthDetailsImpl userAuthDetails) {
+        String userId = userAuthDetails.getUserId();
+        Optional<Token> activeToken = userAuthTokenService.findReusableToken(userId, reuseMinRemainingMs);
+        if (activeToken.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String jwt = activeToken.get().getToken();
+        try {
+            jwtUtils.assertValidToken(jwt);
+            if (!userAuthDetails.getUsername().equals(jwtUtils.getUserNameFromJwtToken(jwt))) {
+                return Optional.empty();
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Stored token for user {} cannot be reused: {}", userId, e.getMessage());
+            return Optional.empty();
+        }
+
+        return userAuthRefreshTokenService.findReusableToken(userId, reuseMinRemainingMs)
+                .map(refreshToken -> new JwtRes(
+                        jwt,
+                        refreshToken.getToken(),
+                        userId,
+                        userAuthDetails.getUsername()
+                ));
+    }
+
     @Transactional
     @Override
     public MessageRes signUp(SignUpReq signUpReq) {
@@ -132,12 +188,19 @@ public class UserAuthServiceImpl implements UserAuthService {
         Optional<RefreshToken> refreshToken = userAuthRefreshTokenService.findByToken(requestRefreshToken);
         if(refreshToken.isPresent()){
             RefreshToken refreshToken1 = refreshToken.get();
-            refreshToken1 = userAuthRefreshTokenService.verifyExpiration(refreshToken1);
             UserAuth userAuth = refreshToken1.getUserAuth();
+            try {
+                refreshToken1 = userAuthRefreshTokenService.verifyExpiration(refreshToken1);
+            } catch (TokenRefreshException e) {
+                authAuditService.record(AuthAuditEventType.REFRESH_FAILURE, userAuth.getUserId(), userAuth.getUsername(), false, "Refresh token expired");
+                throw e;
+            }
             String token = jwtUtils.generateTokenFromUsername(userAuth.getUsername());
             userAuthTokenService.processStaffTokenRefresh(userAuth.getUsername(), token);
+            authAuditService.record(AuthAuditEventType.REFRESH_SUCCESS, userAuth.getUserId(), userAuth.getUsername(), true, null);
             tokenRefreshRes = new TokenRefreshRes(token, requestRefreshToken);
         }else {
+            authAuditService.record(AuthAuditEventType.REFRESH_FAILURE, null, null, false, "Refresh token not found");
             throw new TokenRefreshException(requestRefreshToken, "Refresh token is not in database!");
         }
         return tokenRefreshRes;
@@ -160,6 +223,7 @@ public class UserAuthServiceImpl implements UserAuthService {
                     Token token = userTokenData.get();
                     token.setIsActive(false);
                     tokenRepository.save(token);
+                    authAuditService.record(AuthAuditEventType.SIGN_OUT, userId, userAuthDetails.getUsername(), true, null);
                     return new MessageRes("Logout successful!");
                 } else {
                     return new MessageRes("Token not found, logout failed!");
@@ -8,6 +8,7 @@ import com.blackcode.auth_service.helper.TypeRefs;
 import com.blackcode.auth_service.model.UserAuth;
 import com.blackcode.auth_service.service.UserClientService;
 import com.blackcode.auth_service.utils.ApiResponse;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import org.slf4j.Logger;
@@ -37,6 +38,7 @@ public class UserClientServiceImpl implements UserClientService {
     @Override
     @Retry(name = "userService")
     @CircuitBreaker(name = "userService", fallbackMethod = "fallback")
+    @Bulkhead(name = "userService")
     public UserRes createUser(UserAuth userAuth, SignUpReq signUpReq) {
 
         if (userAuth == null || signUpReq == null || userAuth.getUserId() == null) {
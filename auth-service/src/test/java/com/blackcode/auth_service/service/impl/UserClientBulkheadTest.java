@@ -0,0 +1,83 @@
+package com.blackcode.auth_service.service.impl;
+
+import com.blackcode.auth_service.dto.SignUpReq;
+import com.blackcode.auth_service.dto.UserRes;
+import com.blackcode.auth_service.model.UserAuth;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.springboot3.bulkhead.autoconfigure.BulkheadAutoConfiguration;
+import io.github.resilience4j.springboot3.circuitbreaker.autoconfigure.CircuitBreakerAutoConfiguration;
+import io.github.resilience4j.springboot3.retry.autoconfigure.RetryAutoConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The user-service bulkhead as application.yml configures it, with a single permit the test holds to saturate it
+@SpringBootTest(classes = UserClientBulkheadTest.Config.class,
+        properties = "resilience4j.bulkhead.instances.userService.maxConcurrentCalls=1")
+class UserClientBulkheadTest {
+
+    private static final AtomicInteger exchanges = new AtomicInteger();
+
+    @Autowired
+    private UserClientServiceImpl userClientService;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Test
+    void saturatedDependencyIsRejectedAndServedFromTheFallback() {
+        UserAuth userAuth = new UserAuth("u1", "budi", "secret");
+        SignUpReq signUpReq = new SignUpReq("budi", "secret", "Budi", "budi@example.com", 1L, 1L);
+        Bulkhead userBulkhead = bulkheadRegistry.bulkhead("userService");
+        assertThat(userBulkhead.tryAcquirePermission()).isTrue();
+
+        // The fallback's null is what sign-up turns into a 503, and user-service was never called
+        assertThat(userClientService.createUser(userAuth, signUpReq)).isNull();
+        assertThat(exchanges.get()).isZero();
+
+        userBulkhead.releasePermission();
+
+        UserRes created = userClientService.createUser(userAuth, signUpReq);
+        assertThat(created.getUserId()).isEqualTo("u1");
+        assertThat(exchanges.get()).isEqualTo(1);
+    }
+
+    @Configuration
+    @Import(UserClientServiceImpl.class)
+    @ImportAutoConfiguration({AopAutoConfiguration.class, CircuitBreakerAutoConfiguration.class,
+            RetryAutoConfiguration.class, BulkheadAutoConfiguration.class})
+    static class Config {
+
+        @Bean
+        @Qualifier("userClient")
+        WebClient userClient() {
+            return WebClient.builder()
+                    .exchangeFunction(request -> {
+                        exchanges.incrementAndGet();
+                        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .body("{\"status\":\"success\",\"statusCode\":200,\"data\":"
+                                        + "{\"userId\":\"u1\",\"nama\":\"Budi\",\"email\":\"budi@example.com\"}}")
+                                .build());
+                    })
+                    .build();
+        }
+    }
+}
@@ -1,16 +1,21 @@
 package com.blackcode.department_service.controller;
 
 
+import com.blackcode.department_service.dto.DepartmentChangeFeedRes;
 import com.blackcode.department_service.dto.DepartmentReq;
 import com.blackcode.department_service.dto.DepartmentRes;
+import com.blackcode.department_service.dto.DepartmentSnapshotRes;
 import com.blackcode.department_service.service.DepartmentService;
 import com.blackcode.department_service.utils.ApiResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/department")
@@ -29,9 +34,22 @@ public class DepartmentController {
     }
 
     @GetMapping("/getDepartmentById/{id}")
-    public ResponseEntity<ApiResponse<DepartmentRes>> getDepartmentById(@PathVariable("id") Long id){
+    public ResponseEntity<ApiResponse<DepartmentRes>> getDepartmentById(@PathVariable("id") Long id, WebRequest webRequest){
+        // Revalidation only needs the version column, the entity is loaded when it has changed
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(versionEtag(departmentService.getDepartmentVersion(id)))) {
+            return null;
+        }
         DepartmentRes addressRes = departmentService.getDepartmentById(id);
-        return ResponseEntity.ok(ApiResponse.success("Department found",200, addressRes));
+        return ResponseEntity.ok()
+                .eTag(versionEtag(addressRes.getVersion()))
+                .body(ApiResponse.success("Department found",200, addressRes));
+    }
+
+    @PostMapping("/getDepartmentByIds")
+    public ResponseEntity<ApiResponse<List<DepartmentRes>>> getDepartmentByIds(@RequestBody Set<Long> ids){
+        List<DepartmentRes> departmentRes = departmentService.getDepartmentByIds(ids);
+        return ResponseEntity.ok(ApiResponse.success("Department retrieved successfully",200, departmentRes));
     }
 
     @PostMapping("/addDepartment")
@@ -51,4 +69,22 @@ public class DepartmentController {
         Map<String, Object> rtn = departmentService.deleteDepartment(id);
         return ResponseEntity.ok(ApiResponse.success("Department deleted successfully", 200, rtn));
     }
+
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponse<DepartmentChangeFeedRes>> getDepartmentChanges(
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "limit", defaultValue = "500") int limit){
+        DepartmentChangeFeedRes changeFeedRes = departmentService.getDepartmentChanges(after, limit);
+        return ResponseEntity.ok(ApiResponse.success("Department changes retrieved successfully", 200, changeFeedRes));
+    }
+
+    @GetMapping("/snapshot")
+    public ResponseEntity<ApiResponse<DepartmentSnapshotRes>> getDepartmentSnapshot(){
+        DepartmentSnapshotRes snapshotRes = departmentService.getDepartmentSnapshot();
+        return ResponseEntity.ok(ApiResponse.success("Department snapshot retrieved successfully", 200, snapshotRes));
+    }
+
+    private static String versionEtag(Long version) {
+        return "W/\"" + version + "\"";
+    }
 }
@@ -0,0 +1,20 @@
+package com.blackcode.department_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class DepartmentChangeFeedRes {
+
+    private Long latestVersion;
+
+    private List<DepartmentChangeRes> changes;
+
+}
@@ -0,0 +1,27 @@
+package com.blackcode.department_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class DepartmentChangeRes {
+
+    private Long version;
+
+    private String changeType;
+
+    private Long entityId;
+
+    // Null for deletes
+    private DepartmentRes data;
+
+    private LocalDateTime changedAt;
+
+}
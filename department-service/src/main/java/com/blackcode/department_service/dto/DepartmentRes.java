@@ -19,4 +19,7 @@ public class DepartmentRes {
     private String departmentCode;
 
     private String departmentDescription;
+
+    private Long version;
+
 }
@@ -0,0 +1,6 @@
+package com.blackcode.department_service.model;
+
+public enum ChangeType {
+    UPSERT,
+    DELETE
+}
@@ -21,4 +21,9 @@ public class Department {
 
     private String departmentDescription;
 
+    // Existing rows start at 0 when the column is added
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
 }
@@ -0,0 +1,34 @@
+package com.blackcode.department_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Append-only log of department writes; each row carries the full state so consumers never call back for it
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "tb_department_change")
+public class DepartmentChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long version;
+
+    private Long departmentId;
+
+    @Enumerated(EnumType.STRING)
+    private ChangeType changeType;
+
+    private String departmentName;
+
+    private String departmentCode;
+
+    private String departmentDescription;
+
+    private LocalDateTime changedAt;
+
+}
@@ -0,0 +1,19 @@
+package com.blackcode.department_service.repository;
+
+import com.blackcode.department_service.model.DepartmentChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DepartmentChangeRepository extends JpaRepository<DepartmentChange, Long> {
+
+    List<DepartmentChange> findByVersionGreaterThanOrderByVersionAsc(Long version, Limit limit);
+
+    @Query("SELECT COALESCE(MAX(c.version), 0) FROM DepartmentChange c")
+    Long findLatestVersion();
+
+}
@@ -2,8 +2,16 @@ package com.blackcode.department_service.repository;
 
 import com.blackcode.department_service.model.Department;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
+
+    @Query("SELECT e.version FROM Department e WHERE e.departmentId = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
 }
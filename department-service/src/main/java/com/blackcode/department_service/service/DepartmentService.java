@@ -1,8 +1,11 @@
 package com.blackcode.department_service.service;
 
+import com.blackcode.department_service.dto.DepartmentChangeFeedRes;
 import com.blackcode.department_service.dto.DepartmentReq;
 import com.blackcode.department_service.dto.DepartmentRes;
+import com.blackcode.department_service.dto.DepartmentSnapshotRes;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -12,11 +15,18 @@ public interface DepartmentService {
 
     DepartmentRes getDepartmentById(Long departmentId);
 
+    Long getDepartmentVersion(Long departmentId);
+
+    List<DepartmentRes> getDepartmentByIds(Collection<Long> departmentIds);
+
     DepartmentRes addDepartment(DepartmentReq departmentReq);
 
     DepartmentRes updateDepartment(Long departmentId, DepartmentReq departmentReq);
 
     Map<String, Object> deleteDepartment(Long departmentId);
 
+    DepartmentChangeFeedRes getDepartmentChanges(long afterVersion, int limit);
+
+    DepartmentSnapshotRes getDepartmentSnapshot();
 
 }
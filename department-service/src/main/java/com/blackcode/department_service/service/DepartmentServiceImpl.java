@@ -1,12 +1,23 @@
 package com.blackcode.department_service.service;
 
+import com.blackcode.department_service.dto.DepartmentChangeFeedRes;
+import com.blackcode.department_service.dto.DepartmentChangeRes;
 import com.blackcode.department_service.dto.DepartmentReq;
 import com.blackcode.department_service.dto.DepartmentRes;
+import com.blackcode.department_service.dto.DepartmentSnapshotRes;
 import com.blackcode.department_service.exception.DataNotFoundException;
 import com.blackcode.department_service.model.Department;
+import com.blackcode.department_service.model.DepartmentChange;
+import com.blackcode.department_service.model.ChangeType;
+import com.blackcode.department_service.repository.DepartmentChangeRepository;
 import com.blackcode.department_service.repository.DepartmentRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -14,10 +25,17 @@ import java.util.Map;
 @Service
 public class DepartmentServiceImpl implements DepartmentService{
 
+    private static final int MAX_IDS_PER_REQUEST = 1000;
+
+    private static final int MAX_CHANGES_PER_REQUEST = 1000;
+
     private final DepartmentRepository departmentRepository;
 
-    public DepartmentServiceImpl(DepartmentRepository departmentRepository) {
+    private final DepartmentChangeRepository departmentChangeRepository;
+
+    public DepartmentServiceImpl(DepartmentRepository departmentRepository, DepartmentChangeRepository departmentChangeRepository) {
         this.departmentRepository = departmentRepository;
+        this.departmentChangeRepository = departmentChangeRepository;
     }
 
     @Override
@@ -34,16 +52,34 @@ public class DepartmentServiceImpl implements DepartmentService{
     }
 
     @Override
+    public Long getDepartmentVersion(Long departmentId) {
+        return departmentRepository.findVersionById(departmentId)
+                .orElseThrow(() -> new DataNotFoundException("Department Not Found with id : "+departmentId));
+    }
+
+    @Override
+    public List<DepartmentRes> getDepartmentByIds(Collection<Long> departmentIds) {
+        if (departmentIds.size() > MAX_IDS_PER_REQUEST) {
+            throw new IllegalArgumentException("At most " + MAX_IDS_PER_REQUEST + " ids can be requested at once");
+        }
+        List<Department> departmentList = departmentRepository.findAllById(departmentIds);
+        return departmentList.stream().map(this::mapToDepartmentRes).toList();
+    }
+
+    @Override
+    @Transactional
     public DepartmentRes addDepartment(DepartmentReq departmentReq) {
         Department department = new Department();
         department.setDepartmentName(departmentReq.getDepartmentName());
         department.setDepartmentCode(departmentReq.getDepartmentCode());
         department.setDepartmentDescription(departmentReq.getDepartmentDescription());
         Department saveDepartment = departmentRepository.save(department);
+        recordChange(saveDepartment.getDepartmentId(), ChangeType.UPSERT, saveDepartment);
         return mapToDepartmentRes(saveDepartment);
     }
 
     @Override
+    @Transactional
     public DepartmentRes updateDepartment(Long departmentId, DepartmentReq departmentReq) {
         Department department = departmentRepository.findById(departmentId)
                 .orElseThrow(() -> new DataNotFoundException("Department Not Found with id : "+ departmentId));
@@ -52,26 +88,75 @@ public class DepartmentServiceImpl implements DepartmentService{
         department.setDepartmentCode(departmentReq.getDepartmentCode());
         department.setDepartmentDescription(departmentReq.getDepartmentDescription());
         Department updateDepartment = departmentRepository.save(department);
+        recordChange(updateDepartment.getDepartmentId(), ChangeType.UPSERT, updateDepartment);
         return mapToDepartmentRes(updateDepartment);
     }
 
     @Override
+    @Transactional
     public Map<String, Object> deleteDepartment(Long departmentId) {
         Department department = departmentRepository.findById(departmentId)
                 .orElseThrow(() -> new DataNotFoundException("Department Not Found with id :"+departmentId));
         departmentRepository.deleteById(departmentId);
+        recordChange(departmentId, ChangeType.DELETE, null);
         Map<String, Object> responseData = new HashMap<>();
         responseData.put("deleteDepartmentId", departmentId);
         responseData.put("info", "The Department was removed from the database");
         return responseData;
     }
 
+    @Override
+    public DepartmentChangeFeedRes getDepartmentChanges(long afterVersion, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_CHANGES_PER_REQUEST));
+        Long latestVersion = departmentChangeRepository.findLatestVersion();
+        List<DepartmentChangeRes> changes = departmentChangeRepository
+                .findByVersionGreaterThanOrderByVersionAsc(afterVersion, Limit.of(pageSize))
+                .stream().map(this::mapToDepartmentChangeRes).toList();
+        return new DepartmentChangeFeedRes(latestVersion, changes);
+    }
+
+    // Repeatable read so the returned version and rows come from the same database snapshot
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public DepartmentSnapshotRes getDepartmentSnapshot() {
+        Long version = departmentChangeRepository.findLatestVersion();
+        List<DepartmentRes> items = departmentRepository.findAll().stream().map(this::mapToDepartmentRes).toList();
+        return new DepartmentSnapshotRes(version, items);
+    }
+
+    // Written in the same transaction as the department itself, so the log never disagrees with the table
+    private void recordChange(Long departmentId, ChangeType changeType, Department department) {
+        DepartmentChange change = new DepartmentChange();
+        change.setDepartmentId(departmentId);
+        change.setChangeType(changeType);
+        if (department != null) {
+            change.setDepartmentName(department.getDepartmentName());
+            change.setDepartmentCode(department.getDepartmentCode());
+            change.setDepartmentDescription(department.getDepartmentDescription());
+        }
+        change.setChangedAt(LocalDateTime.now());
+        departmentChangeRepository.save(change);
+    }
+
+    private DepartmentChangeRes mapToDepartmentChangeRes(DepartmentChange change){
+        DepartmentRes departmentRes = null;
+        if (change.getChangeType() == ChangeType.UPSERT) {
+            departmentRes = new DepartmentRes();
+            departmentRes.setDepartmentId(change.getDepartmentId());
+            departmentRes.setDepartmentName(change.getDepartmentName());
+            departmentRes.setDepartmentCode(change.getDepartmentCode());
+            departmentRes.setDepartmentDescription(change.getDepartmentDescription());
+        }
+        return new DepartmentChangeRes(change.getVersion(), change.getChangeType().name(), change.getDepartmentId(), departmentRes, change.getChangedAt());
+    }
+
     private DepartmentRes mapToDepartmentRes(Department department){
         DepartmentRes departmentRes = new DepartmentRes();
         departmentRes.setDepartmentId(department.getDepartmentId());
         departmentRes.setDepartmentName(department.getDepartmentName());
         departmentRes.setDepartmentCode(department.getDepartmentCode());
         departmentRes.setDepartmentDescription(departmentRes.getDepartmentDescription());
+        departmentRes.setVersion(department.getVersion());
         return departmentRes;
     }
 }
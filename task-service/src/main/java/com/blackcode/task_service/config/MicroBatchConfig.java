@@ -0,0 +1,37 @@
+package com.blackcode.task_service.config;
+
+import com.blackcode.task_service.dto.UserDto;
+import com.blackcode.task_service.helper.MicroBatcher;
+import com.blackcode.task_service.helper.RequestDeadline;
+import com.blackcode.task_service.service.UserClientService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+@Configuration
+public class MicroBatchConfig {
+
+    // Loads through the client proxy, so a batch gets the same retry, circuit breaker and stale fallback as a single lookup.
+    // The blocking call runs on a worker, so the batch deadline from the context is installed there for the WebClient filter
+    @Bean
+    @Qualifier("userBatcher")
+    public MicroBatcher<String, UserDto> userBatcher(
+            UserClientService userClientService,
+            @Value("${blackcode.app.microBatch.user.window:2ms}") Duration window,
+            @Value("${blackcode.app.microBatch.user.maxBatchSize:100}") int maxBatchSize,
+            MeterRegistry meterRegistry) {
+        return new MicroBatcher<>("userService", window, maxBatchSize,
+                userIds -> Mono.deferContextual(context -> {
+                    Long deadline = RequestDeadline.current(context);
+                    return Mono.fromCallable(() -> RequestDeadline.callWithin(deadline, () -> userClientService.getUserByIds(userIds)))
+                            .subscribeOn(Schedulers.boundedElastic());
+                }),
+                meterRegistry);
+    }
+}
@@ -0,0 +1,25 @@
+package com.blackcode.task_service.config;
+
+import com.blackcode.task_service.dto.UserDto;
+import com.blackcode.task_service.helper.StaleStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class StaleStoreConfig {
+
+    @Bean
+    @Qualifier("userStaleStore")
+    public StaleStore<String, UserDto> userStaleStore(
+            @Value("${blackcode.app.staleStore.user.maximumSize:50000}") long maximumSize,
+            @Value("${blackcode.app.staleStore.user.maxAge:6h}") Duration maxAge,
+            @Value("${blackcode.app.staleStore.minRefreshInterval:30s}") Duration minRefreshInterval,
+            MeterRegistry meterRegistry) {
+        return new StaleStore<>("user", maximumSize, maxAge, minRefreshInterval, meterRegistry);
+    }
+}
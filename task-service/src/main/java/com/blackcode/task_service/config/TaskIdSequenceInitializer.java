@@ -0,0 +1,36 @@
+package com.blackcode.task_service.config;
+
+import com.blackcode.task_service.model.Task;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves tb_task_seq past ids handed out by the former IDENTITY column. Runs after Hibernate has
+ * created the sequence and before the web server accepts requests; the sequence never moves back.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class TaskIdSequenceInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskIdSequenceInitializer.class);
+
+    private static final String ALIGN_SEQUENCE_SQL =
+            "SELECT setval('tb_task_seq', GREATEST((SELECT COALESCE(MAX(task_id), 0) FROM tb_task) + ?, " +
+            "(SELECT last_value FROM tb_task_seq)))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskIdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignSequence() {
+        Long value = jdbcTemplate.queryForObject(ALIGN_SEQUENCE_SQL, Long.class, Task.ID_ALLOCATION_SIZE);
+        logger.info("tb_task_seq aligned at {}", value);
+    }
+}
@@ -1,6 +1,10 @@
 package com.blackcode.task_service.config;
 
+import com.blackcode.task_service.helper.AdaptiveTimeoutFilter;
+import com.blackcode.task_service.helper.DeadlineExchangeFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,13 +12,30 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.time.Duration;
+
 @Configuration
 public class WebClientConfig {
 
     @Bean
     @LoadBalanced
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
+    public WebClient.Builder webClientBuilder(@Value("${blackcode.app.deadline.minRetryBudgetMs:2500}") long minRetryBudgetMs,
+                                              AdaptiveTimeoutFilter adaptiveTimeoutFilter) {
+        // The deadline filter runs first, so whichever limit is shorter applies
+        return WebClient.builder()
+                .filter(new DeadlineExchangeFilter(minRetryBudgetMs))
+                .filter(adaptiveTimeoutFilter);
+    }
+
+    @Bean
+    public AdaptiveTimeoutFilter adaptiveTimeoutFilter(@Value("${blackcode.app.adaptiveTimeout.multiplier:2.0}") double multiplier,
+                                                       @Value("${blackcode.app.adaptiveTimeout.minMs:50}") long minMs,
+                                                       @Value("${blackcode.app.adaptiveTimeout.maxMs:3000}") long maxMs,
+                                                       @Value("${blackcode.app.adaptiveTimeout.sampleSize:1024}") int sampleSize,
+                                                       @Value("${blackcode.app.adaptiveTimeout.minSamples:50}") int minSamples,
+                                                       @Value("${blackcode.app.adaptiveTimeout.window:60s}") Duration window,
+                                                       MeterRegistry meterRegistry) {
+        return new AdaptiveTimeoutFilter(multiplier, minMs, maxMs, sampleSize, minSamples, window, meterRegistry);
     }
 
     @Bean
@@ -1,13 +1,28 @@
 package com.blackcode.task_service.controller;
 
+import com.blackcode.task_service.dto.BulkTaskRes;
+import com.blackcode.task_service.dto.TaskPageRes;
+import com.blackcode.task_service.dto.TaskReassignReq;
+import com.blackcode.task_service.dto.TaskSearchPageRes;
+import com.blackcode.task_service.dto.TaskStatsRes;
 import com.blackcode.task_service.dto.TaskReq;
 import com.blackcode.task_service.dto.TaskRes;
+import com.blackcode.task_service.helper.EtagUtils;
+import com.blackcode.task_service.service.TaskBulkService;
+import com.blackcode.task_service.service.TaskEventService;
+import com.blackcode.task_service.service.TaskSearchService;
 import com.blackcode.task_service.service.TaskService;
+import com.blackcode.task_service.service.TaskStatsService;
 import com.blackcode.task_service.utils.ApiResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -17,8 +32,22 @@ public class TaskController {
 
     private final TaskService taskService;
 
-    public TaskController(TaskService taskService) {
+    private final TaskBulkService taskBulkService;
+
+    private final TaskSearchService taskSearchService;
+
+    private final TaskStatsService taskStatsService;
+
+    private final TaskEventService taskEventService;
+
+    public TaskController(TaskService taskService, TaskBulkService taskBulkService,
+                          TaskSearchService taskSearchService, TaskStatsService taskStatsService,
+                          TaskEventService taskEventService) {
         this.taskService = taskService;
+        this.taskBulkService = taskBulkService;
+        this.taskSearchService = taskSearchService;
+        this.taskStatsService = taskStatsService;
+        this.taskEventService = taskEventService;
     }
 
     @GetMapping("/getAllTask")
@@ -28,9 +57,53 @@ public class TaskController {
     }
 
     @GetMapping("/getTaskById/{id}")
-    public ResponseEntity<ApiResponse<TaskRes>> getTaskById(@PathVariable("id") Long id){
+    public ResponseEntity<ApiResponse<TaskRes>> getTaskById(@PathVariable("id") Long id,
+                                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        if (ifNoneMatch != null) {
+            String etag = taskService.findUnchangedTaskEtag(id, ifNoneMatch);
+            if (etag != null) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
         TaskRes taskRes = taskService.getTaskById(id);
-        return ResponseEntity.ok(ApiResponse.success("Task found",200, taskRes));
+        String userEtag = taskRes.getTaskUser() != null ? taskRes.getTaskUser().getEtag() : null;
+        return ResponseEntity.ok()
+                .eTag(EtagUtils.taskEtag(taskRes.getVersion(), userEtag))
+                .body(ApiResponse.success("Task found",200, taskRes));
+    }
+
+    @GetMapping("/byUser/{userId}")
+    public ResponseEntity<ApiResponse<TaskPageRes>> getTasksByUser(@PathVariable("userId") String userId,
+                                                                  @RequestParam(value = "cursor", required = false) String cursor,
+                                                                  @RequestParam(value = "size", defaultValue = "50") int size) {
+        TaskPageRes taskPageRes = taskService.getTasksByUser(userId, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Task retrieved successfully", 200, taskPageRes));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<TaskSearchPageRes>> searchTasks(
+            @RequestParam("q") String query,
+            @RequestParam(value = "userId", required = false) String userId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        TaskSearchPageRes searchRes = taskSearchService.searchTasks(query, userId, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Task search completed", 200, searchRes));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<TaskStatsRes>> getTaskStats(
+            @RequestParam(value = "userId", required = false) String userId,
+            @RequestParam(value = "departmentId", required = false) Long departmentId) {
+        TaskStatsRes statsRes = taskStatsService.getStats(userId, departmentId);
+        return ResponseEntity.ok(ApiResponse.success("Task stats retrieved successfully", 200, statsRes));
+    }
+
+    // lastEventId is for clients that cannot set the Last-Event-ID header themselves
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskEvents(@RequestParam(value = "taskUserId", required = false) String taskUserId,
+                                       @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                                       @RequestParam(value = "lastEventId", required = false) String lastEventId) {
+        return taskEventService.subscribe(taskUserId, lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
     }
 
     @PostMapping("/addTask")
@@ -39,6 +112,24 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Task created", 201, taskRes));
     }
 
+    @PostMapping(value = "/bulkCreateTask", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ApiResponse<BulkTaskRes>> bulkCreateTask(InputStream body) throws IOException {
+        BulkTaskRes bulkRes = taskBulkService.bulkCreateTasks(body);
+        return ResponseEntity.ok(ApiResponse.success("Bulk create completed", 200, bulkRes));
+    }
+
+    @PutMapping(value = "/bulkUpdateTask", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ApiResponse<BulkTaskRes>> bulkUpdateTask(InputStream body) throws IOException {
+        BulkTaskRes bulkRes = taskBulkService.bulkUpdateTasks(body);
+        return ResponseEntity.ok(ApiResponse.success("Bulk update completed", 200, bulkRes));
+    }
+
+    @PutMapping("/reassignTasks")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> reassignTasks(@RequestBody TaskReassignReq taskReassignReq) {
+        Map<String, Object> rtn = taskBulkService.reassignTasks(taskReassignReq.getFromUserId(), taskReassignReq.getToUserId());
+        return ResponseEntity.ok(ApiResponse.success("Tasks reassigned", 200, rtn));
+    }
+
     @PutMapping("/updateTask/{id}")
     public ResponseEntity<ApiResponse<TaskRes>> updateTask(@PathVariable("id") Long id, @RequestBody TaskReq taskReq){
         TaskRes taskRes = taskService.updateTask(id, taskReq);
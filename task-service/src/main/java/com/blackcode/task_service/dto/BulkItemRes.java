@@ -0,0 +1,25 @@
+package com.blackcode.task_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemRes {
+
+    // Position of the item in the request body
+    private int index;
+
+    private Long taskId;
+
+    private String status;
+
+    private String error;
+
+}
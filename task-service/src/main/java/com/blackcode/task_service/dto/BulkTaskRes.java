@@ -0,0 +1,29 @@
+package com.blackcode.task_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class BulkTaskRes {
+
+    private int total;
+
+    private int created;
+
+    private int updated;
+
+    private int failed;
+
+    // True when the body held more items than one request may process; the rest was not read
+    private boolean truncated;
+
+    private List<BulkItemRes> items;
+
+}
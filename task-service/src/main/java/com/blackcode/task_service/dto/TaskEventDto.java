@@ -0,0 +1,33 @@
+package com.blackcode.task_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskEventDto {
+
+    private String eventId;
+
+    // CREATED, UPDATED, DELETED or REASSIGNED; a reassignment carries no taskId and covers every task of the previous owner
+    private String type;
+
+    private Long taskId;
+
+    private String taskUserId;
+
+    private String previousTaskUserId;
+
+    private String taskName;
+
+    private String taskDescription;
+
+    private Long version;
+
+}
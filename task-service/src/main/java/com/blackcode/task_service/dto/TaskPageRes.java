@@ -0,0 +1,22 @@
+package com.blackcode.task_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class TaskPageRes {
+
+    private List<TaskRes> content;
+
+    private int size;
+
+    private String nextCursor;
+
+}
@@ -0,0 +1,17 @@
+package com.blackcode.task_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class TaskReassignReq {
+
+    private String fromUserId;
+
+    private String toUserId;
+}
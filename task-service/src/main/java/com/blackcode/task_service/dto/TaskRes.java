@@ -19,4 +19,6 @@ public class TaskRes {
 
     private UserDto taskUser;
 
+    private Long version;
+
 }
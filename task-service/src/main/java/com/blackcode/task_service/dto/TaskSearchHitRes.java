@@ -0,0 +1,24 @@
+package com.blackcode.task_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class TaskSearchHitRes {
+
+    private Long taskId;
+
+    private String taskName;
+
+    private String taskDescription;
+
+    private String taskUserId;
+
+    private float score;
+
+}
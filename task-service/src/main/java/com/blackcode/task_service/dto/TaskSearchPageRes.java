@@ -0,0 +1,24 @@
+package com.blackcode.task_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class TaskSearchPageRes {
+
+    private List<TaskSearchHitRes> content;
+
+    private int size;
+
+    private String nextCursor;
+
+    private long totalHits;
+
+}
@@ -0,0 +1,26 @@
+package com.blackcode.task_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskStatsRes {
+
+    private long totalTasks;
+
+    private String userId;
+
+    private Long userTaskCount;
+
+    private Long departmentId;
+
+    private Long departmentTaskCount;
+
+}
@@ -0,0 +1,19 @@
+package com.blackcode.task_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class TaskUpdateItemReq {
+
+    private Long taskId;
+
+    private String taskName;
+
+    private String taskDescription;
+}
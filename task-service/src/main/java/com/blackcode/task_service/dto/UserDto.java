@@ -1,5 +1,7 @@
 package com.blackcode.task_service.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -21,4 +23,12 @@ public class UserDto {
 
     private String address;
 
+    // ETag user-service sent with this representation, kept out of task responses
+    @JsonIgnore
+    private String etag;
+
+    // Set only when a failed lookup was answered from the last-known-good store
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long staleAgeMs;
+
 }
@@ -0,0 +1,7 @@
+package com.blackcode.task_service.exception;
+
+public class StreamCapacityException extends RuntimeException {
+    public StreamCapacityException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,77 @@
+package com.blackcode.task_service.helper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Bounds every call by the adaptive timeout of its dependency and operation: the service name
+ * in the load-balanced URL and the endpoint name after {@code /api/<service>/}, so a batch lookup
+ * is not judged by the latency of single lookups. The timeout covers the exchange up to the
+ * response headers; the fixed timeout at each call site still caps reading the body.
+ */
+public class AdaptiveTimeoutFilter implements ExchangeFilterFunction {
+
+    // Set on requests whose latency says nothing about the dependency's normal calls, such as bulk transfers
+    public static final String SKIP_ATTRIBUTE = AdaptiveTimeoutFilter.class.getName() + ".skip";
+
+    private final Map<String, AdaptiveTimeout> timeouts = new ConcurrentHashMap<>();
+
+    private final double multiplier;
+
+    private final long minMs;
+
+    private final long maxMs;
+
+    private final int sampleSize;
+
+    private final int minSamples;
+
+    private final Duration window;
+
+    private final MeterRegistry meterRegistry;
+
+    public AdaptiveTimeoutFilter(double multiplier, long minMs, long maxMs, int sampleSize,
+                                 int minSamples, Duration window, MeterRegistry meterRegistry) {
+        this.multiplier = multiplier;
+        this.minMs = minMs;
+        this.maxMs = maxMs;
+        this.sampleSize = sampleSize;
+        this.minSamples = minSamples;
+        this.window = window;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (Boolean.TRUE.equals(request.attribute(SKIP_ATTRIBUTE).orElse(null))) {
+            return next.exchange(request);
+        }
+        String dependency = request.url().getHost();
+        String operation = operation(request.url().getPath());
+        AdaptiveTimeout timeout = timeouts.computeIfAbsent(dependency + "/" + operation, key ->
+                new AdaptiveTimeout(dependency, operation, multiplier, minMs, maxMs, sampleSize, minSamples, window, meterRegistry));
+        return Mono.defer(() -> {
+            Duration limit = timeout.current();
+            long start = System.nanoTime();
+            return next.exchange(request)
+                    .timeout(limit)
+                    .doOnNext(response -> timeout.record(System.nanoTime() - start))
+                    .doOnError(TimeoutException.class, e -> timeout.timedOut(limit));
+        });
+    }
+
+    // "/api/user/getUserById/42" -> "getUserById"; path variables never reach the key
+    private static String operation(String path) {
+        String[] segments = path.split("/");
+        return segments.length > 3 ? segments[3] : "default";
+    }
+}
@@ -0,0 +1,61 @@
+package com.blackcode.task_service.helper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class CursorCodec {
+
+    private static final String PREFIX = "t:";
+
+    private static final String SEARCH_PREFIX = "s:";
+
+    public static String encode(Long lastKey) {
+        if (lastKey == null) return null;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastKey).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        String value = unwrap(cursor, PREFIX);
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    // The score travels as its exact float bits, so the next page resumes at the same position
+    public static String encodeSearch(float lastScore, long lastTaskId) {
+        String value = SEARCH_PREFIX + Integer.toHexString(Float.floatToIntBits(lastScore)) + ":" + lastTaskId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskSearchIndex.Hit decodeSearch(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        String value = unwrap(cursor, SEARCH_PREFIX);
+        int separator = value.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        try {
+            float score = Float.intBitsToFloat(Integer.parseUnsignedInt(value.substring(0, separator), 16));
+            return new TaskSearchIndex.Hit(Long.parseLong(value.substring(separator + 1)), score);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private static String unwrap(String cursor, String prefix) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (!decoded.startsWith(prefix)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return decoded.substring(prefix.length());
+    }
+}
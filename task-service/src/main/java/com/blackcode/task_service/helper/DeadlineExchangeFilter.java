@@ -0,0 +1,45 @@
+package com.blackcode.task_service.helper;
+
+import com.blackcode.task_service.exception.DeadlineExceededException;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Forwards the remaining budget to the next hop and bounds each call by it.
+ * A failure that leaves less than {@code minRetryBudgetMs} is reported as
+ * {@link DeadlineExceededException}, which the retry configuration does not retry.
+ */
+public class DeadlineExchangeFilter implements ExchangeFilterFunction {
+
+    private final long minRetryBudgetMs;
+
+    public DeadlineExchangeFilter(long minRetryBudgetMs) {
+        this.minRetryBudgetMs = minRetryBudgetMs;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            Long deadline = RequestDeadline.current(context);
+            if (deadline == null) return next.exchange(request);
+
+            long remainingMs = RequestDeadline.remainingMs(deadline);
+            if (remainingMs <= 0) {
+                return Mono.error(new DeadlineExceededException("Request deadline exceeded before calling " + request.url().getHost()));
+            }
+            ClientRequest withBudget = ClientRequest.from(request)
+                    .headers(headers -> headers.set(RequestDeadline.HEADER, String.valueOf(remainingMs)))
+                    .build();
+            return next.exchange(withBudget)
+                    .timeout(Duration.ofMillis(remainingMs))
+                    .onErrorMap(e -> !(e instanceof DeadlineExceededException)
+                                    && RequestDeadline.remainingMs(deadline) < minRetryBudgetMs,
+                            e -> new DeadlineExceededException("Request deadline leaves no time to retry " + request.url().getHost(), e));
+        });
+    }
+}
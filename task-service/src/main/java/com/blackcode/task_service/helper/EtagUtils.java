@@ -0,0 +1,33 @@
+package com.blackcode.task_service.helper;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class EtagUtils {
+
+    public static String weak(String value) {
+        return "W/\"" + value + "\"";
+    }
+
+    // A task ETag embeds the ETag of the user it was rendered with, so both can be revalidated
+    public static String taskEtag(Long taskVersion, String userEtag) {
+        return weak(taskVersion + ":" + (userEtag != null ? opaque(userEtag) : ""));
+    }
+
+    public static List<String> opaqueValues(String ifNoneMatch) {
+        if (ifNoneMatch == null) return List.of();
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .filter(tag -> !tag.isEmpty())
+                .map(EtagUtils::opaque)
+                .toList();
+    }
+
+    public static String opaque(String tag) {
+        String value = tag.startsWith("W/") ? tag.substring(2) : tag;
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,155 @@
+package com.blackcode.task_service.helper;
+
+import com.blackcode.task_service.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Collects single-key lookups from concurrent requests and resolves them with one multi-get.
+ * A batch is sent {@code window} after its first key arrives, or as soon as it holds
+ * {@code maxBatchSize} distinct keys. Callers asking for the same key share one result, and a
+ * key missing from the loader's answer resolves empty. Each caller waits no longer than its own
+ * {@link RequestDeadline} and then fails with {@link DeadlineExceededException}; the loader runs
+ * with the latest deadline of the callers in the batch, or none if any caller has none.
+ */
+public class MicroBatcher<K, V> {
+
+    private final Duration window;
+
+    private final int maxBatchSize;
+
+    private final Function<Set<K>, Mono<Map<K, V>>> loader;
+
+    private final DistributionSummary batchSize;
+
+    private final Timer waitTime;
+
+    private Map<K, Pending<V>> pending = new LinkedHashMap<>();
+
+    private Disposable flushTimer;
+
+    public MicroBatcher(String name, Duration window, int maxBatchSize,
+                        Function<Set<K>, Mono<Map<K, V>>> loader, MeterRegistry meterRegistry) {
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.loader = loader;
+        this.batchSize = DistributionSummary.builder("client.batch.size")
+                .tag("dependency", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.waitTime = Timer.builder("client.batch.wait")
+                .tag("dependency", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public Mono<V> load(K key) {
+        if (key == null) return Mono.empty();
+        return Mono.deferContextual(context -> {
+            Long deadline = RequestDeadline.current(context);
+            if (deadline == null) return Mono.fromFuture(enqueue(key, null), true);
+
+            long remainingMs = RequestDeadline.remainingMs(deadline);
+            if (remainingMs <= 0) {
+                return Mono.error(new DeadlineExceededException("Request deadline exceeded before batching " + key));
+            }
+            // A cancelled or timed out caller must not cancel the result other callers of the same key wait for
+            return Mono.fromFuture(enqueue(key, deadline), true)
+                    .timeout(Duration.ofMillis(remainingMs),
+                            Mono.error(() -> new DeadlineExceededException("Request deadline exceeded waiting for batched " + key)));
+        });
+    }
+
+    private CompletableFuture<V> enqueue(K key, Long deadline) {
+        Map<K, Pending<V>> full = null;
+        Pending<V> entry;
+        synchronized (this) {
+            entry = pending.computeIfAbsent(key, k -> new Pending<>(System.nanoTime()));
+            entry.extend(deadline);
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (flushTimer == null) {
+                flushTimer = Schedulers.parallel().schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) dispatch(full);
+        return entry.future;
+    }
+
+    private void flush() {
+        Map<K, Pending<V>> batch;
+        synchronized (this) {
+            batch = takePending();
+        }
+        if (!batch.isEmpty()) dispatch(batch);
+    }
+
+    private Map<K, Pending<V>> takePending() {
+        Map<K, Pending<V>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (flushTimer != null) {
+            flushTimer.dispose();
+            flushTimer = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<K, Pending<V>> batch) {
+        long now = System.nanoTime();
+        batchSize.record(batch.size());
+        batch.values().forEach(entry -> waitTime.record(now - entry.enqueuedAt, TimeUnit.NANOSECONDS));
+
+        // Callers bound their own waits, so the batch only has to stop once no caller is left to answer
+        Long deadline = null;
+        for (Pending<V> entry : batch.values()) {
+            if (entry.unbounded) {
+                deadline = null;
+                break;
+            }
+            if (deadline == null || entry.deadline - deadline > 0) deadline = entry.deadline;
+        }
+
+        Mono.defer(() -> loader.apply(batch.keySet()))
+                .contextWrite(RequestDeadline.of(deadline))
+                .subscribe(
+                        values -> batch.forEach((key, entry) -> entry.future.complete(values.get(key))),
+                        error -> batch.values().forEach(entry -> entry.future.completeExceptionally(error)),
+                        // Covers a loader that completes empty; completing twice is a no-op
+                        () -> batch.values().forEach(entry -> entry.future.complete(null)));
+    }
+
+    private static final class Pending<V> {
+
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+
+        // First request for the key, so the wait histogram shows the longest wait in each batch entry
+        private final long enqueuedAt;
+
+        // Latest deadline of the requests for the key, nanoTime based like RequestDeadline
+        private Long deadline;
+
+        // Some request for the key has no deadline, so the key is worth loading however long it takes
+        private boolean unbounded;
+
+        private Pending(long enqueuedAt) {
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        private void extend(Long callerDeadline) {
+            if (callerDeadline == null) unbounded = true;
+            else if (deadline == null || callerDeadline - deadline > 0) deadline = callerDeadline;
+        }
+    }
+}
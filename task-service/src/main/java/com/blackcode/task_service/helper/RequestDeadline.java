@@ -0,0 +1,55 @@
+package com.blackcode.task_service.helper;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline of the request being served, taken from the budget header set by the gateway.
+ * Blocking code reads it from the request thread; reactive chains carry it in their context,
+ * since they may call other services from a different thread.
+ */
+public class RequestDeadline {
+
+    // Remaining milliseconds rather than an absolute time, so hops do not depend on synchronized clocks
+    public static final String HEADER = "X-Request-Budget-Ms";
+
+    private static final String CONTEXT_KEY = RequestDeadline.class.getName();
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    public static void start(long budgetMs) {
+        CURRENT.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMs));
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static Context of(Long deadline) {
+        return deadline != null ? Context.of(CONTEXT_KEY, deadline) : Context.empty();
+    }
+
+    // Runs blocking code on a worker thread as if it were the request thread that owns the deadline
+    public static <T> T callWithin(Long deadline, Callable<T> callable) throws Exception {
+        Long previous = CURRENT.get();
+        if (deadline != null) CURRENT.set(deadline);
+        else CURRENT.remove();
+        try {
+            return callable.call();
+        } finally {
+            if (previous != null) CURRENT.set(previous);
+            else CURRENT.remove();
+        }
+    }
+
+    public static Long current(ContextView context) {
+        return context.hasKey(CONTEXT_KEY) ? context.get(CONTEXT_KEY) : CURRENT.get();
+    }
+
+    public static long remainingMs(long deadline) {
+        return TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+    }
+}
@@ -0,0 +1,345 @@
+package com.blackcode.task_service.helper;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over task name and description, ranked with BM25.
+ * A name token counts {@link #NAME_WEIGHT} times, so a match in the name outranks one in the
+ * description. Only ids, owners and postings are kept; callers load the task rows for a page.
+ * Updates never rewrite posting lists: a changed task gets a new document id, the old one is
+ * marked dead, and the index compacts itself once dead documents pile up.
+ */
+public class TaskSearchIndex {
+
+    private static final int NAME_WEIGHT = 3;
+
+    private static final float K1 = 1.2f;
+
+    private static final float B = 0.75f;
+
+    private static final int COMPACT_MIN_DEAD = 10_000;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, TermPostingList> postings = new HashMap<>();
+
+    private Map<Long, Integer> docByTaskId = new HashMap<>();
+
+    private long[] taskIds = new long[1024];
+
+    private String[] ownerIds = new String[1024];
+
+    private int[] lengths = new int[1024];
+
+    private BitSet live = new BitSet();
+
+    private int nextDoc;
+
+    private long liveLength;
+
+    // Tasks removed while the startup build runs; the build may still hold their old rows
+    private Set<Long> buildTombstones;
+
+    // Reassignments applied while the startup build runs, in order, for owners in rows it read before them
+    private List<String[]> buildReassignments;
+
+    public void upsert(long taskId, String name, String description, String ownerId) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = docByTaskId.remove(taskId);
+            if (previous != null) {
+                kill(previous);
+            }
+            addDocument(taskId, name, description, ownerId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void startBuild() {
+        lock.writeLock().lock();
+        try {
+            buildTombstones = new HashSet<>();
+            buildReassignments = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void finishBuild() {
+        lock.writeLock().lock();
+        try {
+            buildTombstones = null;
+            buildReassignments = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Used by the startup build so a row read before a concurrent write, delete or reassignment cannot overwrite it
+    public boolean addIfAbsent(long taskId, String name, String description, String ownerId) {
+        lock.writeLock().lock();
+        try {
+            if (docByTaskId.containsKey(taskId)) return false;
+            if (buildTombstones != null && buildTombstones.contains(taskId)) return false;
+            if (buildReassignments != null) {
+                for (String[] reassignment : buildReassignments) {
+                    if (reassignment[0].equals(ownerId)) ownerId = reassignment[1];
+                }
+            }
+            addDocument(taskId, name, description, ownerId);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long taskId) {
+        lock.writeLock().lock();
+        try {
+            if (buildTombstones != null) buildTombstones.add(taskId);
+            Integer previous = docByTaskId.remove(taskId);
+            if (previous != null) {
+                kill(previous);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Owners are not part of the postings, so a reassignment only rewrites the owner column
+    public int reassign(String fromOwnerId, String toOwnerId) {
+        lock.writeLock().lock();
+        try {
+            if (buildReassignments != null) buildReassignments.add(new String[]{fromOwnerId, toOwnerId});
+            int changed = 0;
+            for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+                if (fromOwnerId.equals(ownerIds[doc])) {
+                    ownerIds[doc] = toOwnerId;
+                    changed++;
+                }
+            }
+            return changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByTaskId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} hits ranked after the given position, every query token must match.
+     * Every match is scored and counted, so the best hits are found however broad the query is;
+     * only the best {@code limit} are kept while scanning.
+     */
+    public SearchResult search(String query, String ownerId, Hit after, int limit) {
+        List<String> queryTokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (queryTokens.isEmpty()) return new SearchResult(0, List.of());
+
+        lock.readLock().lock();
+        try {
+            List<TermPostingList> lists = new ArrayList<>(queryTokens.size());
+            for (String token : queryTokens) {
+                TermPostingList list = postings.get(token);
+                if (list == null) return new SearchResult(0, List.of());
+                lists.add(list);
+            }
+            // Drive the intersection from the rarest term
+            lists.sort(Comparator.comparingInt(TermPostingList::size));
+
+            int liveDocs = docByTaskId.size();
+            float averageLength = liveDocs > 0 ? (float) liveLength / liveDocs : 1f;
+            float[] idf = new float[lists.size()];
+            for (int l = 0; l < lists.size(); l++) {
+                int df = Math.min(lists.get(l).size(), liveDocs);
+                idf[l] = (float) Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(Math.max(1, limit), Hit.RANK.reversed());
+            int totalHits = 0;
+            int[] cursors = new int[lists.size()];
+            TermPostingList driver = lists.get(0);
+
+            candidates:
+            for (int i = 0; i < driver.size(); i++) {
+                int doc = driver.doc(i);
+                if (!live.get(doc)) continue;
+                if (ownerId != null && !ownerId.equals(ownerIds[doc])) continue;
+                cursors[0] = i;
+                for (int l = 1; l < lists.size(); l++) {
+                    TermPostingList list = lists.get(l);
+                    cursors[l] = list.advance(cursors[l], doc);
+                    if (cursors[l] >= list.size()) break candidates;
+                    if (list.doc(cursors[l]) != doc) continue candidates;
+                }
+                totalHits++;
+
+                float lengthNorm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                float score = 0;
+                for (int l = 0; l < lists.size(); l++) {
+                    int tf = lists.get(l).frequency(cursors[l]);
+                    score += idf[l] * tf * (K1 + 1) / (tf + lengthNorm);
+                }
+                long taskId = taskIds[doc];
+                if (after != null && !Hit.ranksAfter(score, taskId, after)) continue;
+                if (top.size() == limit && !Hit.ranksBefore(score, taskId, top.peek())) continue;
+                if (top.size() == limit) top.poll();
+                top.add(new Hit(taskId, score));
+            }
+
+            List<Hit> ranked = new ArrayList<>(top);
+            ranked.sort(Hit.RANK);
+            return new SearchResult(totalHits, ranked);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addDocument(long taskId, String name, String description, String ownerId) {
+        int doc = nextDoc++;
+        if (doc == taskIds.length) {
+            int capacity = taskIds.length + (taskIds.length >> 1);
+            taskIds = Arrays.copyOf(taskIds, capacity);
+            ownerIds = Arrays.copyOf(ownerIds, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String token : tokenize(name)) {
+            frequencies.merge(token, NAME_WEIGHT, Integer::sum);
+            length += NAME_WEIGHT;
+        }
+        for (String token : tokenize(description)) {
+            frequencies.merge(token, 1, Integer::sum);
+            length++;
+        }
+
+        taskIds[doc] = taskId;
+        ownerIds[doc] = ownerId;
+        lengths[doc] = length;
+        live.set(doc);
+        liveLength += length;
+        docByTaskId.put(taskId, doc);
+        frequencies.forEach((token, frequency) ->
+                postings.computeIfAbsent(token, t -> new TermPostingList()).add(doc, frequency));
+    }
+
+    private void kill(int doc) {
+        live.clear(doc);
+        liveLength -= lengths[doc];
+        ownerIds[doc] = null;
+    }
+
+    // Renumbers live documents once more than half of all ids are dead; no text is needed for that
+    private void compactIfNeeded() {
+        int dead = nextDoc - docByTaskId.size();
+        if (dead < COMPACT_MIN_DEAD || dead < docByTaskId.size()) return;
+
+        int[] newDocs = new int[nextDoc];
+        int capacity = Math.max(1024, docByTaskId.size());
+        long[] newTaskIds = new long[capacity];
+        String[] newOwnerIds = new String[capacity];
+        int[] newLengths = new int[capacity];
+        BitSet newLive = new BitSet();
+        int next = 0;
+        for (int doc = 0; doc < nextDoc; doc++) {
+            if (!live.get(doc)) {
+                newDocs[doc] = -1;
+                continue;
+            }
+            newDocs[doc] = next;
+            newTaskIds[next] = taskIds[doc];
+            newOwnerIds[next] = ownerIds[doc];
+            newLengths[next] = lengths[doc];
+            newLive.set(next);
+            docByTaskId.put(taskIds[doc], next);
+            next++;
+        }
+
+        Map<String, TermPostingList> newPostings = new HashMap<>();
+        postings.forEach((token, list) -> {
+            TermPostingList remapped = list.remap(newDocs);
+            if (remapped.size() > 0) newPostings.put(token, remapped);
+        });
+        postings = newPostings;
+        taskIds = newTaskIds;
+        ownerIds = newOwnerIds;
+        lengths = newLengths;
+        live = newLive;
+        nextDoc = next;
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    public static class SearchResult {
+
+        private final int totalHits;
+
+        private final List<Hit> hits;
+
+        public SearchResult(int totalHits, List<Hit> hits) {
+            this.totalHits = totalHits;
+            this.hits = hits;
+        }
+
+        public int getTotalHits() {
+            return totalHits;
+        }
+
+        public List<Hit> getHits() {
+            return hits;
+        }
+    }
+
+    public static class Hit {
+
+        // Best score first, then task id, which makes (score, taskId) a stable keyset position
+        static final Comparator<Hit> RANK = Comparator.comparingDouble(Hit::getScore).reversed()
+                .thenComparingLong(Hit::getTaskId);
+
+        private final long taskId;
+
+        private final float score;
+
+        static boolean ranksBefore(float score, long taskId, Hit other) {
+            if (score != other.score) return score > other.score;
+            return taskId < other.taskId;
+        }
+
+        static boolean ranksAfter(float score, long taskId, Hit other) {
+            if (score != other.score) return score < other.score;
+            return taskId > other.taskId;
+        }
+
+        public Hit(long taskId, float score) {
+            this.taskId = taskId;
+            this.score = score;
+        }
+
+        public long getTaskId() {
+            return taskId;
+        }
+
+        public float getScore() {
+            return score;
+        }
+    }
+}
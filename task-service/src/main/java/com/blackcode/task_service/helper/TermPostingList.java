@@ -0,0 +1,77 @@
+package com.blackcode.task_service.helper;
+
+import java.util.Arrays;
+
+/**
+ * Growable, ascending list of document ids, each with the weighted frequency of the term in that document.
+ * Ids are only ever appended in increasing order, so the list stays sorted without extra work.
+ */
+public class TermPostingList {
+
+    private int[] docs;
+
+    private int[] frequencies;
+
+    private int size;
+
+    public TermPostingList() {
+        this.docs = new int[4];
+        this.frequencies = new int[4];
+    }
+
+    public void add(int doc, int frequency) {
+        if (size == docs.length) {
+            int capacity = size + (size >> 1) + 1;
+            docs = Arrays.copyOf(docs, capacity);
+            frequencies = Arrays.copyOf(frequencies, capacity);
+        }
+        docs[size] = doc;
+        frequencies[size] = frequency;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int doc(int index) {
+        return docs[index];
+    }
+
+    public int frequency(int index) {
+        return frequencies[index];
+    }
+
+    // Galloping search from a lower bound, cheap when probing a long list with ascending ids
+    public int advance(int from, int doc) {
+        if (from >= size || docs[from] >= doc) return from;
+        int step = 1;
+        int low = from;
+        int high = from;
+        while (high < size && docs[high] < doc) {
+            low = high;
+            high += step;
+            step <<= 1;
+        }
+        int index = Arrays.binarySearch(docs, low, Math.min(high + 1, size), doc);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    // Drops entries of documents mapped to -1 and renumbers the rest; the mapping must preserve order
+    public TermPostingList remap(int[] newDocs) {
+        TermPostingList remapped = new TermPostingList();
+        for (int i = 0; i < size; i++) {
+            int doc = newDocs[docs[i]];
+            if (doc >= 0) remapped.add(doc, frequencies[i]);
+        }
+        remapped.trimToSize();
+        return remapped;
+    }
+
+    public void trimToSize() {
+        if (docs.length != size) {
+            docs = Arrays.copyOf(docs, size);
+            frequencies = Arrays.copyOf(frequencies, size);
+        }
+    }
+}
@@ -1,13 +1,24 @@
 package com.blackcode.task_service.helper;
 
 
+import com.blackcode.task_service.dto.UserDepartmentDto;
 import com.blackcode.task_service.dto.UserDto;
 import com.blackcode.task_service.utils.ApiResponse;
 import org.springframework.core.ParameterizedTypeReference;
 
+import java.util.List;
+
 public class TypeRefs {
     public static ParameterizedTypeReference<ApiResponse<UserDto>> userDtoResponse() {
         return new ParameterizedTypeReference<>() {};
     }
 
+    public static ParameterizedTypeReference<ApiResponse<List<UserDto>>> userDtoListResponse() {
+        return new ParameterizedTypeReference<>() {};
+    }
+
+    public static ParameterizedTypeReference<ApiResponse<List<UserDepartmentDto>>> userDepartmentListResponse() {
+        return new ParameterizedTypeReference<>() {};
+    }
+
 }
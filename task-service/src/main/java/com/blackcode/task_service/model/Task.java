@@ -11,11 +11,16 @@ import lombok.Setter;
 @NoArgsConstructor
 @Getter
 @Setter
-@Table(name = "tb_task")
+// Serves the per-owner listing in task id order without a sort
+@Table(name = "tb_task", indexes = @Index(name = "idx_task_user_id_task_id", columnList = "task_user_id, task_id"))
 public class Task {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Ids come from a pooled sequence so inserts can be JDBC-batched, which IDENTITY rules out
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "tb_task_seq", allocationSize = Task.ID_ALLOCATION_SIZE)
     private Long taskId;
 
     private String taskName;
@@ -23,4 +28,9 @@ public class Task {
     private String taskDescription;
 
     private String taskUserId;
+
+    // Existing rows start at 0 when the column is added
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
 }
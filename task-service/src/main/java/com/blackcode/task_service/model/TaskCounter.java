@@ -0,0 +1,26 @@
+package com.blackcode.task_service.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Task count per key: total:<stripe>, user:<taskUserId> or department:<departmentId>
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "tb_task_counter")
+public class TaskCounter {
+
+    @Id
+    private String counterKey;
+
+    @Column(nullable = false)
+    private long taskCount;
+}
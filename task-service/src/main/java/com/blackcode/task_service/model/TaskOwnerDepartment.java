@@ -0,0 +1,24 @@
+package com.blackcode.task_service.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Department of a task owner as last reported by user-service, refreshed by the stats reconciliation
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "tb_task_owner_department")
+public class TaskOwnerDepartment {
+
+    @Id
+    private String taskUserId;
+
+    private Long departmentId;
+}
@@ -0,0 +1,10 @@
+package com.blackcode.task_service.model;
+
+// What a conditional GET needs to revalidate a task, read without loading the entity
+public interface TaskVersionView {
+
+    Long getVersion();
+
+    String getTaskUserId();
+
+}
@@ -0,0 +1,9 @@
+package com.blackcode.task_service.repository;
+
+import com.blackcode.task_service.model.TaskOwnerDepartment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TaskOwnerDepartmentRepository extends JpaRepository<TaskOwnerDepartment, String> {
+}
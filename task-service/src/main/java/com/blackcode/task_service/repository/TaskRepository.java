@@ -1,9 +1,42 @@
 package com.blackcode.task_service.repository;
 
 import com.blackcode.task_service.model.Task;
+import com.blackcode.task_service.model.TaskVersionView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
+
+    @Query("SELECT t.version AS version, t.taskUserId AS taskUserId FROM Task t WHERE t.taskId = :taskId")
+    Optional<TaskVersionView> findVersionById(@Param("taskId") Long taskId);
+
+    List<Task> findByTaskUserIdOrderByTaskIdAsc(String taskUserId, Limit limit);
+
+    List<Task> findByTaskUserIdAndTaskIdGreaterThanOrderByTaskIdAsc(String taskUserId, Long taskId, Limit limit);
+
+    // Forward-only server-side cursor, must be consumed inside a read-only transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t ORDER BY t.taskId")
+    Stream<Task> streamAllOrderByTaskId();
+
+    // Bumps the version so ETags and optimistic locks see the change
+    @Modifying
+    @Query("UPDATE Task t SET t.taskUserId = :toUserId, t.version = t.version + 1 WHERE t.taskUserId = :fromUserId")
+    int reassignTasks(@Param("fromUserId") String fromUserId, @Param("toUserId") String toUserId);
+
 }
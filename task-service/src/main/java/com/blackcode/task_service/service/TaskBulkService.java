@@ -0,0 +1,17 @@
+package com.blackcode.task_service.service;
+
+import com.blackcode.task_service.dto.BulkTaskRes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+public interface TaskBulkService {
+
+    BulkTaskRes bulkCreateTasks(InputStream inputStream) throws IOException;
+
+    BulkTaskRes bulkUpdateTasks(InputStream inputStream) throws IOException;
+
+    Map<String, Object> reassignTasks(String fromUserId, String toUserId);
+
+}
@@ -0,0 +1,18 @@
+package com.blackcode.task_service.service;
+
+import com.blackcode.task_service.model.Task;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface TaskEventService {
+
+    SseEmitter subscribe(String taskUserId, String lastEventId);
+
+    void taskCreated(Task task);
+
+    void taskUpdated(Task task);
+
+    void taskDeleted(Long taskId, String taskUserId);
+
+    void tasksReassigned(String fromUserId, String toUserId);
+
+}
@@ -0,0 +1,16 @@
+package com.blackcode.task_service.service;
+
+import com.blackcode.task_service.dto.TaskSearchPageRes;
+import com.blackcode.task_service.model.Task;
+
+public interface TaskSearchService {
+
+    TaskSearchPageRes searchTasks(String query, String userId, String cursor, int size);
+
+    void index(Task task);
+
+    void remove(Long taskId);
+
+    void reassign(String fromUserId, String toUserId);
+
+}
@@ -1,5 +1,6 @@
 package com.blackcode.task_service.service;
 
+import com.blackcode.task_service.dto.TaskPageRes;
 import com.blackcode.task_service.dto.TaskReq;
 import com.blackcode.task_service.dto.TaskRes;
 
@@ -12,6 +13,10 @@ public interface TaskService {
 
     TaskRes getTaskById(Long taskId);
 
+    TaskPageRes getTasksByUser(String userId, String cursor, int size);
+
+    String findUnchangedTaskEtag(Long taskId, String ifNoneMatch);
+
     TaskRes addTask(TaskReq taskReq);
 
     TaskRes updateTask(Long taskId, TaskReq taskReq);
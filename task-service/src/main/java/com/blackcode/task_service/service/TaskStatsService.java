@@ -0,0 +1,16 @@
+package com.blackcode.task_service.service;
+
+import com.blackcode.task_service.dto.TaskStatsRes;
+
+import java.util.Map;
+
+public interface TaskStatsService {
+
+    TaskStatsRes getStats(String userId, Long departmentId);
+
+    // Must run inside the transaction that wrote the tasks, keyed by owner with the change in task count
+    void applyOwnerDeltas(Map<String, Long> deltasByOwner);
+
+    void reconcile();
+
+}
@@ -2,6 +2,18 @@ package com.blackcode.task_service.service;
 
 import com.blackcode.task_service.dto.UserDto;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface UserClientService {
     UserDto getUserById(String userId);
+
+    Map<String, UserDto> getUserByIds(Collection<String> userIds);
+
+    // No stale fallback: a failed lookup throws, so a missing id really does not exist
+    Map<String, UserDto> getUserByIdsStrict(Collection<String> userIds);
+
+    Map<String, Long> getUserDepartmentIds(Collection<String> userIds);
+
+    boolean isUserUnchanged(String userId, String etag);
 }
@@ -0,0 +1,285 @@
+package com.blackcode.task_service.service.impl;
+
+import com.blackcode.task_service.dto.BulkItemRes;
+import com.blackcode.task_service.dto.BulkTaskRes;
+import com.blackcode.task_service.dto.TaskReq;
+import com.blackcode.task_service.dto.TaskUpdateItemReq;
+import com.blackcode.task_service.exception.DataNotFoundException;
+import com.blackcode.task_service.exception.UserServiceUnavailableException;
+import com.blackcode.task_service.model.Task;
+import com.blackcode.task_service.repository.TaskRepository;
+import com.blackcode.task_service.service.TaskBulkService;
+import com.blackcode.task_service.service.TaskEventService;
+import com.blackcode.task_service.service.TaskSearchService;
+import com.blackcode.task_service.service.TaskStatsService;
+import com.blackcode.task_service.service.UserClientService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+public class TaskBulkServiceImpl implements TaskBulkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskBulkServiceImpl.class);
+
+    private static final String STATUS_CREATED = "CREATED";
+
+    private static final String STATUS_UPDATED = "UPDATED";
+
+    private static final String STATUS_FAILED = "FAILED";
+
+    // Not written because user-service could not confirm the owner; it can be resent unchanged
+    private static final String STATUS_UNAVAILABLE = "UNAVAILABLE";
+
+    @Value("${blackcode.app.bulk.chunkSize:500}")
+    private int chunkSize;
+
+    @Value("${blackcode.app.bulk.maxItems:50000}")
+    private int maxItems;
+
+    private final TaskRepository taskRepository;
+
+    private final UserClientService userClientService;
+
+    private final TaskSearchService taskSearchService;
+
+    private final TaskStatsService taskStatsService;
+
+    private final TaskEventService taskEventService;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskBulkServiceImpl(TaskRepository taskRepository,
+                               UserClientService userClientService,
+                               TaskSearchService taskSearchService,
+                               TaskStatsService taskStatsService,
+                               TaskEventService taskEventService,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.userClientService = userClientService;
+        this.taskSearchService = taskSearchService;
+        this.taskStatsService = taskStatsService;
+        this.taskEventService = taskEventService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Accepts a JSON array or newline-delimited objects and reads them incrementally, one chunk at a time
+    @Override
+    public BulkTaskRes bulkCreateTasks(InputStream inputStream) throws IOException {
+        return readInChunks(inputStream, TaskReq.class, this::createChunk);
+    }
+
+    @Override
+    public BulkTaskRes bulkUpdateTasks(InputStream inputStream) throws IOException {
+        return readInChunks(inputStream, TaskUpdateItemReq.class, this::updateChunk);
+    }
+
+    @Override
+    public Map<String, Object> reassignTasks(String fromUserId, String toUserId) {
+        if (fromUserId == null || fromUserId.isBlank() || toUserId == null || toUserId.isBlank()) {
+            throw new IllegalArgumentException("fromUserId and toUserId are required");
+        }
+        if (!knownUserIds(Set.of(toUserId)).orElseThrow(() -> new UserServiceUnavailableException(
+                "User service unavailable, cannot verify User " + toUserId)).contains(toUserId)) {
+            throw new DataNotFoundException("User not found with ID: " + toUserId);
+        }
+
+        Integer reassigned = transactionTemplate.execute(status -> {
+            int moved = taskRepository.reassignTasks(fromUserId, toUserId);
+            Map<String, Long> deltas = new HashMap<>();
+            deltas.put(fromUserId, (long) -moved);
+            deltas.merge(toUserId, (long) moved, Long::sum);
+            taskStatsService.applyOwnerDeltas(deltas);
+            return moved;
+        });
+        taskSearchService.reassign(fromUserId, toUserId);
+        if (reassigned != null && reassigned > 0) taskEventService.tasksReassigned(fromUserId, toUserId);
+        logger.info("Reassigned {} tasks from User {} to User {}", reassigned, fromUserId, toUserId);
+        Map<String, Object> responseData = new HashMap<>();
+        responseData.put("fromUserId", fromUserId);
+        responseData.put("toUserId", toUserId);
+        responseData.put("reassignedTasks", reassigned);
+        return responseData;
+    }
+
+    private <T> BulkTaskRes readInChunks(InputStream inputStream, Class<T> itemType,
+                                         ChunkProcessor<T> processor) throws IOException {
+        BulkTaskRes report = new BulkTaskRes(0, 0, 0, 0, false, new ArrayList<>());
+        List<T> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        try (MappingIterator<T> iterator = objectMapper.readerFor(itemType).readValues(inputStream)) {
+            while (iterator.hasNextValue()) {
+                if (index == maxItems) {
+                    report.setTruncated(true);
+                    break;
+                }
+                chunk.add(iterator.nextValue());
+                index++;
+                if (chunk.size() == chunkSize) {
+                    record(processor.process(chunk, index - chunk.size()), report);
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // Earlier chunks are already committed, so the report of what was written is still returned
+            logger.warn("Bulk task request stopped at item {}: {}", index, e.getOriginalMessage());
+            if (!chunk.isEmpty()) {
+                record(processor.process(chunk, index - chunk.size()), report);
+                chunk.clear();
+            }
+            report.getItems().add(failed(index, null, "Malformed item, this and any later items were not read: " + e.getOriginalMessage()));
+            report.setFailed(report.getFailed() + 1);
+            report.setTruncated(true);
+            index++;
+        }
+        if (!chunk.isEmpty()) {
+            record(processor.process(chunk, index - chunk.size()), report);
+        }
+        report.setTotal(index);
+        logger.info("Bulk task request processed {} items: {} created, {} updated, {} failed",
+                index, report.getCreated(), report.getUpdated(), report.getFailed());
+        return report;
+    }
+
+    private BulkItemRes[] createChunk(List<TaskReq> chunk, int firstIndex) {
+        BulkItemRes[] results = new BulkItemRes[chunk.size()];
+
+        // One lookup validates every owner in the chunk
+        Set<String> ownerIds = chunk.stream().filter(Objects::nonNull)
+                .map(TaskReq::getTaskUserId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Optional<Set<String>> knownOwnerIds = knownUserIds(ownerIds);
+
+        List<Integer> valid = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            TaskReq taskReq = chunk.get(i);
+            if (taskReq == null) {
+                results[i] = failed(firstIndex + i, null, "Task is required");
+            } else if (taskReq.getTaskUserId() != null && knownOwnerIds.isEmpty()) {
+                results[i] = new BulkItemRes(firstIndex + i, null, STATUS_UNAVAILABLE, "User service unavailable");
+            } else if (taskReq.getTaskUserId() != null && !knownOwnerIds.get().contains(taskReq.getTaskUserId())) {
+                results[i] = failed(firstIndex + i, null, "User not found: " + taskReq.getTaskUserId());
+            } else {
+                Task task = new Task();
+                task.setTaskName(taskReq.getTaskName());
+                task.setTaskDescription(taskReq.getTaskDescription());
+                task.setTaskUserId(taskReq.getTaskUserId());
+                valid.add(i);
+                tasks.add(task);
+            }
+        }
+
+        if (!tasks.isEmpty()) {
+            try {
+                // Sequence ids let Hibernate send the inserts as JDBC batches at commit
+                List<Task> saved = transactionTemplate.execute(status -> {
+                    List<Task> savedTasks = taskRepository.saveAll(tasks);
+                    Map<String, Long> deltas = new HashMap<>();
+                    savedTasks.forEach(task -> deltas.merge(task.getTaskUserId(), 1L, Long::sum));
+                    taskStatsService.applyOwnerDeltas(deltas);
+                    return savedTasks;
+                });
+                for (int j = 0; j < valid.size(); j++) {
+                    int i = valid.get(j);
+                    results[i] = new BulkItemRes(firstIndex + i, saved.get(j).getTaskId(), STATUS_CREATED, null);
+                }
+                saved.forEach(taskSearchService::index);
+                saved.forEach(taskEventService::taskCreated);
+            } catch (Exception e) {
+                logger.error("Bulk task create chunk starting at {} failed: {}", firstIndex, e.getMessage());
+                valid.forEach(i -> results[i] = failed(firstIndex + i, null, "Batch write failed"));
+            }
+        }
+        return results;
+    }
+
+    private BulkItemRes[] updateChunk(List<TaskUpdateItemReq> chunk, int firstIndex) {
+        BulkItemRes[] results = new BulkItemRes[chunk.size()];
+
+        // A later item for the same task replaces an earlier one in the same chunk
+        Map<Long, Integer> lastPositionByTaskId = new HashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            TaskUpdateItemReq item = chunk.get(i);
+            if (item == null || item.getTaskId() == null) {
+                results[i] = failed(firstIndex + i, null, "taskId is required");
+                continue;
+            }
+            Integer previous = lastPositionByTaskId.put(item.getTaskId(), i);
+            if (previous != null) {
+                results[previous] = failed(firstIndex + previous, item.getTaskId(), "Superseded by a later item with the same taskId");
+            }
+        }
+
+        if (!lastPositionByTaskId.isEmpty()) {
+            try {
+                // Loaded and changed in one transaction; dirty checking flushes the updates as JDBC batches
+                Map<Long, Task> found = transactionTemplate.execute(status -> {
+                    Map<Long, Task> foundTasks = new HashMap<>();
+                    for (Task task : taskRepository.findAllById(lastPositionByTaskId.keySet())) {
+                        TaskUpdateItemReq item = chunk.get(lastPositionByTaskId.get(task.getTaskId()));
+                        task.setTaskName(item.getTaskName());
+                        task.setTaskDescription(item.getTaskDescription());
+                        foundTasks.put(task.getTaskId(), task);
+                    }
+                    return foundTasks;
+                });
+                found.values().forEach(taskSearchService::index);
+                found.values().forEach(taskEventService::taskUpdated);
+                lastPositionByTaskId.forEach((taskId, i) -> results[i] = found.containsKey(taskId)
+                        ? new BulkItemRes(firstIndex + i, taskId, STATUS_UPDATED, null)
+                        : failed(firstIndex + i, taskId, "Task not found with ID: " + taskId));
+            } catch (Exception e) {
+                logger.error("Bulk task update chunk starting at {} failed: {}", firstIndex, e.getMessage());
+                lastPositionByTaskId.forEach((taskId, i) -> results[i] = failed(firstIndex + i, taskId, "Batch write failed"));
+            }
+        }
+        return results;
+    }
+
+    // Empty when user-service could not answer; a stale copy cannot prove that a user is gone
+    private Optional<Set<String>> knownUserIds(Set<String> userIds) {
+        if (userIds.isEmpty()) return Optional.of(Set.of());
+        try {
+            return Optional.of(userClientService.getUserByIdsStrict(userIds).keySet());
+        } catch (RuntimeException e) {
+            logger.warn("User lookup for {} IDs failed: {}", userIds.size(), e.toString());
+            return Optional.empty();
+        }
+    }
+
+    private void record(BulkItemRes[] results, BulkTaskRes report) {
+        for (BulkItemRes result : results) {
+            switch (result.getStatus()) {
+                case STATUS_CREATED -> report.setCreated(report.getCreated() + 1);
+                case STATUS_UPDATED -> report.setUpdated(report.getUpdated() + 1);
+                default -> report.setFailed(report.getFailed() + 1);
+            }
+            report.getItems().add(result);
+        }
+    }
+
+    private BulkItemRes failed(int index, Long taskId, String error) {
+        return new BulkItemRes(index, taskId, STATUS_FAILED, error);
+    }
+
+    @FunctionalInterface
+    private interface ChunkProcessor<T> {
+        BulkItemRes[] process(List<T> chunk, int firstIndex);
+    }
+}
@@ -0,0 +1,281 @@
+package com.blackcode.task_service.service.impl;
+
+import com.blackcode.task_service.dto.TaskEventDto;
+import com.blackcode.task_service.exception.StreamCapacityException;
+import com.blackcode.task_service.model.Task;
+import com.blackcode.task_service.service.TaskEventService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes task changes to SSE subscribers. Every subscriber has a bounded queue drained by a shared
+ * dispatcher pool, and one that lets its queue fill up is disconnected instead of slowing the others.
+ * The last {@code logCapacity} events stay in memory, so a client that reconnects with Last-Event-ID
+ * gets what it missed; when that is no longer possible it gets a RESET event and should reload.
+ */
+@Service
+public class TaskEventServiceImpl implements TaskEventService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventServiceImpl.class);
+
+    private static final String CREATED = "CREATED";
+
+    private static final String UPDATED = "UPDATED";
+
+    private static final String DELETED = "DELETED";
+
+    private static final String REASSIGNED = "REASSIGNED";
+
+    private static final String RESET = "RESET";
+
+    private static final Object HEARTBEAT = new Object();
+
+    // Bounds the time one subscriber holds a dispatcher thread before the others get a turn
+    private static final int MAX_SENDS_PER_DRAIN = 64;
+
+    @Value("${blackcode.app.taskEvents.logCapacity:10000}")
+    private int logCapacity;
+
+    @Value("${blackcode.app.taskEvents.subscriberBufferSize:256}")
+    private int subscriberBufferSize;
+
+    @Value("${blackcode.app.taskEvents.maxSubscribers:1000}")
+    private int maxSubscribers;
+
+    @Value("${blackcode.app.taskEvents.dispatchThreads:4}")
+    private int dispatchThreads;
+
+    @Value("${blackcode.app.taskEvents.streamTimeoutMs:1800000}")
+    private long streamTimeoutMs;
+
+    // Ids from an earlier run cannot be resumed, the epoch tells them apart
+    private final long epoch = System.currentTimeMillis();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final MeterRegistry meterRegistry;
+
+    private TaskEventDto[] log;
+
+    private long nextSeq;
+
+    private ExecutorService dispatcher;
+
+    private Counter published;
+
+    private Counter evicted;
+
+    public TaskEventServiceImpl(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        log = new TaskEventDto[logCapacity];
+        AtomicInteger threadNumber = new AtomicInteger();
+        dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "task-event-dispatch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        published = meterRegistry.counter("task.events.published");
+        evicted = meterRegistry.counter("task.events.evicted");
+        Gauge.builder("task.events.subscribers", subscribers, Set::size).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscribers.forEach(Subscriber::close);
+        dispatcher.shutdownNow();
+    }
+
+    @Override
+    public SseEmitter subscribe(String taskUserId, String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new StreamCapacityException("Too many task event subscribers");
+        }
+        Subscriber subscriber = new Subscriber(taskUserId, new SseEmitter(streamTimeoutMs));
+        subscriber.emitter.onCompletion(subscriber::close);
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(e -> subscriber.close());
+
+        // Replay and registration happen under the log lock, so no event is missed or sent twice in between
+        synchronized (this) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                List<TaskEventDto> missed = missedSince(lastEventId);
+                if (missed == null || missed.size() > subscriberBufferSize) {
+                    subscriber.offer(resetEvent());
+                } else {
+                    missed.stream().filter(subscriber::matches).forEach(subscriber::offer);
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        return subscriber.emitter;
+    }
+
+    @Override
+    public void taskCreated(Task task) {
+        publish(taskEvent(CREATED, task));
+    }
+
+    @Override
+    public void taskUpdated(Task task) {
+        publish(taskEvent(UPDATED, task));
+    }
+
+    @Override
+    public void taskDeleted(Long taskId, String taskUserId) {
+        publish(new TaskEventDto(null, DELETED, taskId, taskUserId, null, null, null, null));
+    }
+
+    @Override
+    public void tasksReassigned(String fromUserId, String toUserId) {
+        publish(new TaskEventDto(null, REASSIGNED, null, toUserId, fromUserId, null, null, null));
+    }
+
+    // Keeps idle connections alive through proxies and finds clients that went away
+    @Scheduled(fixedDelayString = "${blackcode.app.taskEvents.heartbeatIntervalMs:15000}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+    }
+
+    private synchronized void publish(TaskEventDto event) {
+        long seq = nextSeq++;
+        event.setEventId(epoch + "-" + seq);
+        log[(int) (seq % logCapacity)] = event;
+        published.increment();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(event)) subscriber.offer(event);
+        }
+    }
+
+    // Null when the id is from another run or older than the log still holds
+    private List<TaskEventDto> missedSince(String lastEventId) {
+        int separator = lastEventId.indexOf('-');
+        long lastSeq;
+        try {
+            if (separator < 0 || Long.parseLong(lastEventId.substring(0, separator)) != epoch) return null;
+            lastSeq = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        long oldestSeq = Math.max(0, nextSeq - logCapacity);
+        if (lastSeq + 1 < oldestSeq || lastSeq >= nextSeq) return null;
+
+        List<TaskEventDto> missed = new ArrayList<>();
+        for (long seq = lastSeq + 1; seq < nextSeq; seq++) {
+            missed.add(log[(int) (seq % logCapacity)]);
+        }
+        return missed;
+    }
+
+    private TaskEventDto resetEvent() {
+        String lastId = nextSeq > 0 ? epoch + "-" + (nextSeq - 1) : null;
+        return new TaskEventDto(lastId, RESET, null, null, null, null, null, null);
+    }
+
+    private TaskEventDto taskEvent(String type, Task task) {
+        return new TaskEventDto(null, type, task.getTaskId(), task.getTaskUserId(), null,
+                task.getTaskName(), task.getTaskDescription(), task.getVersion());
+    }
+
+    private final class Subscriber {
+
+        private final String taskUserId;
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(subscriberBufferSize);
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private volatile boolean closed;
+
+        private Subscriber(String taskUserId, SseEmitter emitter) {
+            this.taskUserId = taskUserId;
+            this.emitter = emitter;
+        }
+
+        private boolean matches(TaskEventDto event) {
+            return taskUserId == null
+                    || taskUserId.equals(event.getTaskUserId())
+                    || taskUserId.equals(event.getPreviousTaskUserId());
+        }
+
+        // Never blocks the publisher; a full queue means the client cannot keep up and it can resume later
+        private void offer(Object item) {
+            if (closed) return;
+            if (!queue.offer(item)) {
+                evicted.increment();
+                logger.info("Evicting slow task event subscriber (filter={})", taskUserId);
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) return;
+            try {
+                dispatcher.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                close();
+            }
+        }
+
+        private void drain() {
+            try {
+                Object item;
+                int sent = 0;
+                while (!closed && sent++ < MAX_SENDS_PER_DRAIN && (item = queue.poll()) != null) {
+                    if (item == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        TaskEventDto event = (TaskEventDto) item;
+                        SseEmitter.SseEventBuilder builder = SseEmitter.event().name(event.getType())
+                                .data(event, MediaType.APPLICATION_JSON);
+                        if (event.getEventId() != null) builder.id(event.getEventId());
+                        emitter.send(builder);
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                draining.set(false);
+                if (!closed && !queue.isEmpty()) scheduleDrain();
+            }
+        }
+
+        private void close() {
+            if (closed) return;
+            closed = true;
+            subscribers.remove(this);
+            queue.clear();
+            try {
+                emitter.complete();
+            } catch (Exception e) {
+                logger.debug("Task event stream already closed: {}", e.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.blackcode.task_service.service.impl;
+
+import com.blackcode.task_service.dto.TaskSearchHitRes;
+import com.blackcode.task_service.dto.TaskSearchPageRes;
+import com.blackcode.task_service.helper.CursorCodec;
+import com.blackcode.task_service.helper.TaskSearchIndex;
+import com.blackcode.task_service.model.Task;
+import com.blackcode.task_service.repository.TaskRepository;
+import com.blackcode.task_service.service.TaskSearchService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class TaskSearchServiceImpl implements TaskSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchServiceImpl.class);
+
+    private static final int BUILD_CLEAR_INTERVAL = 1000;
+
+    @Value("${blackcode.app.search.maxPageSize:100}")
+    private int maxPageSize;
+
+    private final TaskSearchIndex index = new TaskSearchIndex();
+
+    private final TaskRepository taskRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TaskSearchServiceImpl(TaskRepository taskRepository,
+                                 EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        Gauge.builder("task.search.index.size", index, TaskSearchIndex::size).register(meterRegistry);
+    }
+
+    // Writes that land while the build streams the table win over the rows it read earlier
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        long started = System.currentTimeMillis();
+        index.startBuild();
+        Integer indexed;
+        try {
+            indexed = readOnlyTransaction.execute(status -> {
+                int count = 0;
+                int read = 0;
+                try (Stream<Task> tasks = taskRepository.streamAllOrderByTaskId()) {
+                    Iterator<Task> iterator = tasks.iterator();
+                    while (iterator.hasNext()) {
+                        Task task = iterator.next();
+                        if (index.addIfAbsent(task.getTaskId(), task.getTaskName(), task.getTaskDescription(), task.getTaskUserId())) count++;
+                        if (++read % BUILD_CLEAR_INTERVAL == 0) entityManager.clear();
+                    }
+                }
+                return count;
+            });
+        } finally {
+            index.finishBuild();
+        }
+        logger.info("Task search index built with {} tasks in {} ms", indexed, System.currentTimeMillis() - started);
+    }
+
+    @Override
+    public TaskSearchPageRes searchTasks(String query, String userId, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        TaskSearchIndex.Hit after = CursorCodec.decodeSearch(cursor);
+
+        // One extra hit tells whether another page exists
+        TaskSearchIndex.SearchResult result = index.search(query, userId, after, pageSize + 1);
+        boolean hasNext = result.getHits().size() > pageSize;
+        List<TaskSearchIndex.Hit> hits = hasNext ? result.getHits().subList(0, pageSize) : result.getHits();
+
+        // The index holds no text, the rows of the page are read in one query; a task deleted meanwhile is skipped
+        Map<Long, Task> tasks = taskRepository.findAllById(hits.stream().map(TaskSearchIndex.Hit::getTaskId).toList())
+                .stream().collect(Collectors.toMap(Task::getTaskId, Function.identity()));
+        List<TaskSearchHitRes> content = new ArrayList<>(hits.size());
+        for (TaskSearchIndex.Hit hit : hits) {
+            Task task = tasks.get(hit.getTaskId());
+            if (task == null) continue;
+            content.add(new TaskSearchHitRes(task.getTaskId(), task.getTaskName(), task.getTaskDescription(),
+                    task.getTaskUserId(), hit.getScore()));
+        }
+
+        TaskSearchIndex.Hit last = hasNext ? hits.get(hits.size() - 1) : null;
+        String nextCursor = last != null ? CursorCodec.encodeSearch(last.getScore(), last.getTaskId()) : null;
+        return new TaskSearchPageRes(content, content.size(), nextCursor, result.getTotalHits());
+    }
+
+    @Override
+    public void index(Task task) {
+        index.upsert(task.getTaskId(), task.getTaskName(), task.getTaskDescription(), task.getTaskUserId());
+    }
+
+    @Override
+    public void remove(Long taskId) {
+        index.remove(taskId);
+    }
+
+    @Override
+    public void reassign(String fromUserId, String toUserId) {
+        index.reassign(fromUserId, toUserId);
+    }
+}
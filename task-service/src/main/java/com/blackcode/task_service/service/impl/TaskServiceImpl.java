@@ -1,42 +1,76 @@
 package com.blackcode.task_service.service.impl;
 
+import com.blackcode.task_service.dto.TaskPageRes;
 import com.blackcode.task_service.dto.TaskReq;
 import com.blackcode.task_service.dto.TaskRes;
 import com.blackcode.task_service.dto.UserDto;
 import com.blackcode.task_service.exception.DataNotFoundException;
+import com.blackcode.task_service.exception.DeadlineExceededException;
+import com.blackcode.task_service.helper.CursorCodec;
+import com.blackcode.task_service.helper.EtagUtils;
+import com.blackcode.task_service.helper.MicroBatcher;
 import com.blackcode.task_service.model.Task;
+import com.blackcode.task_service.model.TaskVersionView;
 import com.blackcode.task_service.repository.TaskRepository;
+import com.blackcode.task_service.service.TaskEventService;
+import com.blackcode.task_service.service.TaskSearchService;
 import com.blackcode.task_service.service.TaskService;
+import com.blackcode.task_service.service.TaskStatsService;
 import com.blackcode.task_service.service.UserClientService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 public class TaskServiceImpl implements TaskService {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskServiceImpl.class);
 
+    @Value("${blackcode.app.taskPage.maxSize:200}")
+    private int maxPageSize;
+
     private final TaskRepository taskRepository;
 
     private final UserClientService userClientService;
 
-    public TaskServiceImpl(TaskRepository taskRepository, UserClientService userClientService) {
+    private final MicroBatcher<String, UserDto> userBatcher;
+
+    private final TaskSearchService taskSearchService;
+
+    private final TaskStatsService taskStatsService;
+
+    private final TaskEventService taskEventService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskServiceImpl(TaskRepository taskRepository, UserClientService userClientService,
+                           @Qualifier("userBatcher") MicroBatcher<String, UserDto> userBatcher,
+                           TaskSearchService taskSearchService,
+                           TaskStatsService taskStatsService,
+                           TaskEventService taskEventService,
+                           PlatformTransactionManager transactionManager) {
         this.taskRepository = taskRepository;
         this.userClientService = userClientService;
+        this.userBatcher = userBatcher;
+        this.taskSearchService = taskSearchService;
+        this.taskStatsService = taskStatsService;
+        this.taskEventService = taskEventService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
     public List<TaskRes> getAllTask() {
-        List<Task> userList = taskRepository.findAll();
-        return userList.stream().map(task -> {
-            UserDto userDto = userClientService.getUserById(task.getTaskUserId());
-            return mapToTaskRes(task, userDto);
-        }).toList();
+        List<Task> taskList = taskRepository.findAll();
+        return mapToTaskResList(taskList);
     }
 
     @Override
@@ -44,18 +78,65 @@ public class TaskServiceImpl implements TaskService {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new DataNotFoundException("Task not found with ID: "+taskId));
 
+        // Single lookup rather than the batcher: only it returns the user ETag the task ETag embeds
         UserDto userDto = userClientService.getUserById(task.getTaskUserId());
         return mapToTaskRes(task, userDto);
     }
 
+    @Override
+    public TaskPageRes getTasksByUser(String userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        Long afterTaskId = CursorCodec.decode(cursor);
+
+        // One extra row tells whether another page exists without a count query
+        Limit limit = Limit.of(pageSize + 1);
+        List<Task> taskList = afterTaskId == null
+                ? taskRepository.findByTaskUserIdOrderByTaskIdAsc(userId, limit)
+                : taskRepository.findByTaskUserIdAndTaskIdGreaterThanOrderByTaskIdAsc(userId, afterTaskId, limit);
+
+        boolean hasNext = taskList.size() > pageSize;
+        List<Task> page = hasNext ? taskList.subList(0, pageSize) : taskList;
+        String nextCursor = hasNext ? CursorCodec.encode(page.get(page.size() - 1).getTaskId()) : null;
+
+        // Every task on the page has the same owner, so it is looked up once
+        UserDto userDto = page.isEmpty() ? null : findUser(userId);
+        List<TaskRes> content = page.stream().map(task -> mapToTaskRes(task, userDto)).toList();
+        return new TaskPageRes(content, content.size(), nextCursor);
+    }
+
+    // Unchanged only if the task version matches and user-service confirms the embedded user with a 304
+    @Override
+    public String findUnchangedTaskEtag(Long taskId, String ifNoneMatch) {
+        TaskVersionView current = taskRepository.findVersionById(taskId).orElse(null);
+        if (current == null) return null;
+
+        for (String opaque : EtagUtils.opaqueValues(ifNoneMatch)) {
+            int separator = opaque.indexOf(':');
+            if (separator < 0 || !opaque.substring(0, separator).equals(String.valueOf(current.getVersion()))) continue;
+            String userOpaque = opaque.substring(separator + 1);
+            if (userOpaque.isEmpty()) continue;
+            if (userClientService.isUserUnchanged(current.getTaskUserId(), EtagUtils.weak(userOpaque))) {
+                return EtagUtils.weak(opaque);
+            }
+        }
+        return null;
+    }
+
     @Override
     public TaskRes addTask(TaskReq taskReq) {
         Task task = new Task();
         task.setTaskName(taskReq.getTaskName());
         task.setTaskDescription(taskReq.getTaskDescription());
         task.setTaskUserId(taskReq.getTaskUserId());
-        Task saveTask = taskRepository.save(task);
-        UserDto userDto = userClientService.getUserById(saveTask.getTaskUserId());
+        // The counters commit or roll back together with the task
+        Task saveTask = transactionTemplate.execute(status -> {
+            Task saved = taskRepository.save(task);
+            taskStatsService.applyOwnerDeltas(Collections.singletonMap(saved.getTaskUserId(), 1L));
+            return saved;
+        });
+        taskSearchService.index(saveTask);
+        taskEventService.taskCreated(saveTask);
+        UserDto userDto = findUser(saveTask.getTaskUserId());
         return mapToTaskRes(saveTask, userDto);
     }
 
@@ -68,27 +149,56 @@ public class TaskServiceImpl implements TaskService {
         task.setTaskDescription(taskReq.getTaskDescription());
 
         Task updateTask = taskRepository.save(task);
-        UserDto userDto = userClientService.getUserById(updateTask.getTaskUserId());
+        taskSearchService.index(updateTask);
+        taskEventService.taskUpdated(updateTask);
+        UserDto userDto = findUser(updateTask.getTaskUserId());
         return mapToTaskRes(updateTask, userDto);
     }
 
     @Override
     public Map<String, Object> deleteTask(Long taskId) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new DataNotFoundException("Task not found with ID: "+taskId));
-        taskRepository.deleteById(taskId);
+        Task task = transactionTemplate.execute(status -> {
+            Task deleted = taskRepository.findById(taskId)
+                    .orElseThrow(() -> new DataNotFoundException("Task not found with ID: "+taskId));
+            taskRepository.delete(deleted);
+            taskStatsService.applyOwnerDeltas(Collections.singletonMap(deleted.getTaskUserId(), -1L));
+            return deleted;
+        });
+        taskSearchService.remove(taskId);
+        taskEventService.taskDeleted(taskId, task.getTaskUserId());
         Map<String, Object> responseData = new HashMap<>();
         responseData.put("deletedTaskId", taskId);
         responseData.put("info", "The Task was removed from the database.");
         return responseData;
     }
 
+    // A caller out of budget gets the task without its owner, as when user-service has no answer and nothing stale
+    private UserDto findUser(String userId) {
+        return userBatcher.load(userId)
+                .onErrorResume(DeadlineExceededException.class, e -> {
+                    logger.warn("No User {} within the request deadline: {}", userId, e.getMessage());
+                    return Mono.empty();
+                })
+                .block();
+    }
+
+    // Owners are shared between tasks, so each distinct one is resolved once with a single batched call
+    private List<TaskRes> mapToTaskResList(List<Task> taskList){
+        Set<String> userIds = taskList.stream().map(Task::getTaskUserId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<String, UserDto> users = userIds.isEmpty() ? Map.of() : userClientService.getUserByIds(userIds);
+        return taskList.stream()
+                .map(task -> mapToTaskRes(task, users.get(task.getTaskUserId())))
+                .toList();
+    }
+
     private TaskRes mapToTaskRes(Task task, UserDto userDto){
         TaskRes taskRes = new TaskRes();
         taskRes.setTaskId(task.getTaskId());
         taskRes.setTaskName(task.getTaskName());
         taskRes.setTaskDescription(task.getTaskDescription());
         taskRes.setTaskUser(userDto);
+        taskRes.setVersion(task.getVersion());
         return taskRes;
     }
 }
@@ -0,0 +1,227 @@
+package com.blackcode.task_service.service.impl;
+
+import com.blackcode.task_service.dto.TaskStatsRes;
+import com.blackcode.task_service.model.TaskCounter;
+import com.blackcode.task_service.model.TaskOwnerDepartment;
+import com.blackcode.task_service.repository.TaskCounterRepository;
+import com.blackcode.task_service.repository.TaskOwnerDepartmentRepository;
+import com.blackcode.task_service.service.TaskStatsService;
+import com.blackcode.task_service.service.UserClientService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Task counts per owner, per owner department and in total, kept in tb_task_counter by the
+ * transactions that write tasks. Departments come from tb_task_owner_department, which only the
+ * reconciliation refreshes, so an owner first seen since the last run is counted once it is known.
+ */
+@Service
+public class TaskStatsServiceImpl implements TaskStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStatsServiceImpl.class);
+
+    private static final String TOTAL_PREFIX = "total:";
+
+    private static final String USER_PREFIX = "user:";
+
+    private static final String DEPARTMENT_PREFIX = "department:";
+
+    // Every write touches the total, so it is spread over stripes instead of one hot row
+    private static final int TOTAL_STRIPES = 8;
+
+    private static final List<String> TOTAL_KEYS = IntStream.range(0, TOTAL_STRIPES)
+            .mapToObj(stripe -> TOTAL_PREFIX + stripe).toList();
+
+    private static final String ADD_COUNT_SQL =
+            "INSERT INTO tb_task_counter (counter_key, task_count) VALUES (?, ?) " +
+            "ON CONFLICT (counter_key) DO UPDATE SET task_count = tb_task_counter.task_count + EXCLUDED.task_count";
+
+    private static final String UPSERT_OWNER_DEPARTMENT_SQL =
+            "INSERT INTO tb_task_owner_department (task_user_id, department_id) VALUES (?, ?) " +
+            "ON CONFLICT (task_user_id) DO UPDATE SET department_id = EXCLUDED.department_id";
+
+    // Keeps reconciliations of several instances from applying the same correction twice; writers never take it
+    private static final String TRY_RECONCILE_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(hashtext('tb_task_counter.reconcile'))";
+
+    private static final String ACTUAL_COUNTS_SQL =
+            "SELECT 'user:' || task_user_id, COUNT(*) FROM tb_task WHERE task_user_id IS NOT NULL GROUP BY task_user_id " +
+            "UNION ALL SELECT 'department:' || d.department_id, COUNT(*) FROM tb_task t " +
+            "JOIN tb_task_owner_department d ON d.task_user_id = t.task_user_id " +
+            "WHERE d.department_id IS NOT NULL GROUP BY d.department_id " +
+            "UNION ALL SELECT 'total:0', COUNT(*) FROM tb_task";
+
+    private static final int OWNER_CHUNK_SIZE = 500;
+
+    @Value("${blackcode.app.taskStats.enabled:true}")
+    private boolean enabled;
+
+    private final TaskCounterRepository taskCounterRepository;
+
+    private final TaskOwnerDepartmentRepository taskOwnerDepartmentRepository;
+
+    private final UserClientService userClientService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate snapshotTransaction;
+
+    private final Counter drift;
+
+    public TaskStatsServiceImpl(TaskCounterRepository taskCounterRepository,
+                                TaskOwnerDepartmentRepository taskOwnerDepartmentRepository,
+                                UserClientService userClientService,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.taskCounterRepository = taskCounterRepository;
+        this.taskOwnerDepartmentRepository = taskOwnerDepartmentRepository;
+        this.userClientService = userClientService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setReadOnly(true);
+        this.drift = Counter.builder("task.stats.drift")
+                .description("Counters corrected by the reconciliation")
+                .register(meterRegistry);
+    }
+
+    // One primary key lookup for all requested counters, independent of the number of tasks
+    @Override
+    public TaskStatsRes getStats(String userId, Long departmentId) {
+        List<String> keys = new ArrayList<>(TOTAL_KEYS);
+        if (userId != null) keys.add(USER_PREFIX + userId);
+        if (departmentId != null) keys.add(DEPARTMENT_PREFIX + departmentId);
+
+        Map<String, Long> counts = new HashMap<>();
+        for (TaskCounter counter : taskCounterRepository.findAllById(keys)) {
+            counts.put(counter.getCounterKey(), counter.getTaskCount());
+        }
+        long total = TOTAL_KEYS.stream().mapToLong(key -> counts.getOrDefault(key, 0L)).sum();
+        return new TaskStatsRes(total,
+                userId,
+                userId != null ? counts.getOrDefault(USER_PREFIX + userId, 0L) : null,
+                departmentId,
+                departmentId != null ? counts.getOrDefault(DEPARTMENT_PREFIX + departmentId, 0L) : null);
+    }
+
+    @Override
+    public void applyOwnerDeltas(Map<String, Long> deltasByOwner) {
+        if (!enabled) return;
+        Map<String, Long> deltas = new HashMap<>();
+        long totalDelta = 0;
+        for (Map.Entry<String, Long> entry : deltasByOwner.entrySet()) {
+            totalDelta += entry.getValue();
+            if (entry.getKey() != null) deltas.merge(USER_PREFIX + entry.getKey(), entry.getValue(), Long::sum);
+        }
+
+        Set<String> owners = new HashSet<>(deltasByOwner.keySet());
+        owners.remove(null);
+        if (!owners.isEmpty()) {
+            for (TaskOwnerDepartment owner : taskOwnerDepartmentRepository.findAllById(owners)) {
+                if (owner.getDepartmentId() == null) continue;
+                deltas.merge(DEPARTMENT_PREFIX + owner.getDepartmentId(), deltasByOwner.get(owner.getTaskUserId()), Long::sum);
+            }
+        }
+        if (totalDelta != 0) {
+            deltas.put(TOTAL_KEYS.get(ThreadLocalRandom.current().nextInt(TOTAL_STRIPES)), totalDelta);
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) return;
+
+        // Rows are locked in key order, so concurrent writers cannot deadlock on them
+        List<Map.Entry<String, Long>> rows = new ArrayList<>(new TreeMap<>(deltas).entrySet());
+        jdbcTemplate.batchUpdate(ADD_COUNT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.getKey());
+            ps.setLong(2, row.getValue());
+        });
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${blackcode.app.taskStats.reconcileInitialDelayMs:60000}",
+            fixedDelayString = "${blackcode.app.taskStats.reconcileIntervalMs:600000}")
+    public void reconcile() {
+        if (!enabled) return;
+        long started = System.currentTimeMillis();
+        try {
+            refreshOwnerDepartments();
+        } catch (Exception e) {
+            // Counts are still recomputed, with the departments known from earlier runs
+            logger.warn("Failed to refresh task owner departments: {}", e.toString());
+        }
+
+        Integer corrected = transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_RECONCILE_LOCK_SQL, Boolean.class))) {
+                logger.info("Task stats reconciliation already running on another instance");
+                return 0;
+            }
+            Map<String, Long> deltas = snapshotTransaction.execute(snapshot -> countDrift());
+            if (deltas == null || deltas.isEmpty()) return 0;
+
+            // Added rather than set, so increments committed since the snapshot are kept; rows in key order as in applyOwnerDeltas
+            List<Map.Entry<String, Long>> rows = new ArrayList<>(new TreeMap<>(deltas).entrySet());
+            jdbcTemplate.batchUpdate(ADD_COUNT_SQL, rows, rows.size(), (ps, row) -> {
+                ps.setString(1, row.getKey());
+                ps.setLong(2, row.getValue());
+            });
+            return rows.size();
+        });
+
+        if (corrected != null && corrected > 0) {
+            drift.increment(corrected);
+            logger.warn("Task stats reconciliation corrected {} counters", corrected);
+        }
+        logger.info("Task stats reconciled in {} ms", System.currentTimeMillis() - started);
+    }
+
+    // Tasks and counters are read from one snapshot, in which every committed write changed both, so no lock is needed
+    private Map<String, Long> countDrift() {
+        Map<String, Long> deltas = new HashMap<>();
+        jdbcTemplate.query(ACTUAL_COUNTS_SQL, rs -> {
+            deltas.merge(rs.getString(1), rs.getLong(2), Long::sum);
+        });
+        // The stripes only matter in sum, a correction of the total goes to the first one
+        for (TaskCounter counter : taskCounterRepository.findAll()) {
+            String key = counter.getCounterKey().startsWith(TOTAL_PREFIX) ? TOTAL_KEYS.get(0) : counter.getCounterKey();
+            deltas.merge(key, -counter.getTaskCount(), Long::sum);
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        return deltas;
+    }
+
+    private void refreshOwnerDepartments() {
+        List<String> owners = jdbcTemplate.queryForList(
+                "SELECT DISTINCT task_user_id FROM tb_task WHERE task_user_id IS NOT NULL", String.class);
+        for (int from = 0; from < owners.size(); from += OWNER_CHUNK_SIZE) {
+            List<String> chunk = owners.subList(from, Math.min(from + OWNER_CHUNK_SIZE, owners.size()));
+            // An owner missing from the answer no longer exists and belongs to no department. A null department
+            // can also mean department-service did not answer user-service, so the department known so far is kept
+            Map<String, Long> departmentIds = userClientService.getUserDepartmentIds(chunk);
+            List<String> known = chunk.stream()
+                    .filter(owner -> !departmentIds.containsKey(owner) || departmentIds.get(owner) != null)
+                    .toList();
+            if (known.isEmpty()) continue;
+            jdbcTemplate.batchUpdate(UPSERT_OWNER_DEPARTMENT_SQL, known, known.size(), (ps, owner) -> {
+                ps.setString(1, owner);
+                ps.setObject(2, departmentIds.get(owner), Types.BIGINT);
+            });
+        }
+    }
+}
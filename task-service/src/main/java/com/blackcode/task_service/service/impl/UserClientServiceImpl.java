@@ -1,22 +1,34 @@
 package com.blackcode.task_service.service.impl;
 
+import com.blackcode.task_service.dto.UserDepartmentDto;
 import com.blackcode.task_service.dto.UserDto;
 import com.blackcode.task_service.exception.DataNotFoundException;
+import com.blackcode.task_service.helper.StaleStore;
 import com.blackcode.task_service.helper.TypeRefs;
 import com.blackcode.task_service.service.UserClientService;
 import com.blackcode.task_service.utils.ApiResponse;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import io.github.resilience4j.retry.annotation.Retry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.Duration;
+import java.util.*;
 
 @Service
 public class UserClientServiceImpl implements UserClientService {
@@ -25,10 +37,31 @@ public class UserClientServiceImpl implements UserClientService {
 
     private static final String USER_API_PATH = "/api/user/getUserById/";
 
+    private static final String USER_BATCH_API_PATH = "/api/user/getUserByIds";
+
+    private static final int BATCH_CHUNK_SIZE = 500;
+
+    // Only the fields UserDto maps, which also spares user-service the department and address lookups
+    private static final String USER_FIELDS = "?fields=userId,nama,email";
+
+    private static final String DEPARTMENT_FIELDS = "?fields=userId,department";
+
     private final WebClient userClient;
 
-    public UserClientServiceImpl(@Qualifier("userClient") WebClient userClient) {
+    private final Bulkhead userBulkhead;
+
+    private final StaleStore<String, UserDto> userStaleStore;
+
+    private final CircuitBreakerOperator<Map<String, UserDto>> refreshCircuitBreaker;
+
+    public UserClientServiceImpl(@Qualifier("userClient") WebClient userClient,
+                                 @Qualifier("userStaleStore") StaleStore<String, UserDto> userStaleStore,
+                                 BulkheadRegistry bulkheadRegistry,
+                                 CircuitBreakerRegistry circuitBreakerRegistry) {
         this.userClient = userClient;
+        this.userStaleStore = userStaleStore;
+        this.userBulkhead = bulkheadRegistry.bulkhead("userService");
+        this.refreshCircuitBreaker = CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker("userService"));
     }
 
     @Override
@@ -37,9 +70,18 @@ public class UserClientServiceImpl implements UserClientService {
     public UserDto getUserById(String userId) {
         if (userId == null) return null;
 
-        String uri = USER_API_PATH + userId;
+        UserDto userDto = fetchUser(userId).block();
+
+        if (userDto == null) {
+            logger.warn("No response for User ID {}", userId);
+        }
+        return userDto;
+    }
+
+    private Mono<UserDto> fetchUser(String userId) {
+        String uri = USER_API_PATH + userId + USER_FIELDS;
         ParameterizedTypeReference<ApiResponse<UserDto>> typeRef = TypeRefs.userDtoResponse();
-        ApiResponse<UserDto> response = userClient.get()
+        return userClient.get()
                 .uri(uri)
                 .exchangeToMono(clientResponse -> {
                     HttpStatusCode status = clientResponse.statusCode();
@@ -48,23 +90,161 @@ public class UserClientServiceImpl implements UserClientService {
                     if (status.isError()) {
                         return clientResponse.bodyToMono(String.class).flatMap(errorBody -> {
                             logger.error("Error response body: {}", errorBody);
-                            return Mono.error(new DataNotFoundException("User not found"));
+                            return Mono.error(status.value() == 404
+                                    ? new DataNotFoundException("User not found")
+                                    : new IllegalStateException("User lookup failed with status " + status.value()));
                         });
                     }
-                    return clientResponse.bodyToMono(typeRef);
+                    String etag = clientResponse.headers().asHttpHeaders().getETag();
+                    return clientResponse.bodyToMono(typeRef)
+                            .flatMap(response -> Mono.justOrEmpty(response.getData()))
+                            .doOnNext(user -> user.setEtag(etag));
                 })
+                .transformDeferred(BulkheadOperator.of(userBulkhead))
                 .timeout(Duration.ofSeconds(3))
-                .block();
+                .doOnNext(user -> userStaleStore.put(userId, user));
+    }
 
-        if (response == null) {
-            logger.warn("No response for User ID {}", userId);
-            return null;
+    @Override
+    @Retry(name = "userService")
+    @CircuitBreaker(name = "userService", fallbackMethod = "fallbackBatch")
+    public Map<String, UserDto> getUserByIds(Collection<String> userIds) {
+        return fetchUsers(userIds).block();
+    }
+
+    @Override
+    @Retry(name = "userService")
+    @CircuitBreaker(name = "userService")
+    public Map<String, UserDto> getUserByIdsStrict(Collection<String> userIds) {
+        return fetchUsers(userIds).block();
+    }
+
+    private Mono<Map<String, UserDto>> fetchUsers(Collection<String> userIds) {
+        List<String> ids = userIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) return Mono.just(new HashMap<>());
+
+        ParameterizedTypeReference<ApiResponse<List<UserDto>>> typeRef = TypeRefs.userDtoListResponse();
+
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BATCH_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + BATCH_CHUNK_SIZE, ids.size())));
         }
-        return response.getData();
+
+        return Flux.fromIterable(chunks)
+                .concatMap(chunk -> userClient.post()
+                        .uri(USER_BATCH_API_PATH + USER_FIELDS)
+                        .bodyValue(chunk)
+                        .exchangeToMono(clientResponse -> {
+                            HttpStatusCode status = clientResponse.statusCode();
+                            logger.info("Response status: {}", status);
+
+                            if (status.isError()) {
+                                return clientResponse.bodyToMono(String.class).flatMap(errorBody -> {
+                                    logger.error("Error response body: {}", errorBody);
+                                    return Mono.error(new IllegalStateException("User batch lookup failed with status " + status.value()));
+                                });
+                            }
+
+                            return clientResponse.bodyToMono(typeRef);
+                        })
+                        .transformDeferred(BulkheadOperator.of(userBulkhead))
+                        .timeout(Duration.ofSeconds(3)))
+                .filter(response -> response.getData() != null)
+                .flatMapIterable(ApiResponse::getData)
+                .collectMap(UserDto::getUserId, user -> user, HashMap::new)
+                // Ids missing from a successful answer no longer exist and must not be served stale later
+                .doOnNext(found -> ids.forEach(id -> {
+                    if (found.containsKey(id)) userStaleStore.put(id, found.get(id));
+                    else userStaleStore.invalidate(id);
+                }));
+    }
+
+    // No fallback: a caller that cannot learn departments keeps the ones it already has
+    @Override
+    @CircuitBreaker(name = "userService")
+    public Map<String, Long> getUserDepartmentIds(Collection<String> userIds) {
+        List<String> ids = userIds.stream().filter(Objects::nonNull).distinct().toList();
+        Map<String, Long> departmentIds = new HashMap<>();
+        ParameterizedTypeReference<ApiResponse<List<UserDepartmentDto>>> typeRef = TypeRefs.userDepartmentListResponse();
+
+        for (int from = 0; from < ids.size(); from += BATCH_CHUNK_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(from + BATCH_CHUNK_SIZE, ids.size()));
+            ApiResponse<List<UserDepartmentDto>> response = userClient.post()
+                    .uri(USER_BATCH_API_PATH + DEPARTMENT_FIELDS)
+                    .bodyValue(chunk)
+                    .retrieve()
+                    .bodyToMono(typeRef)
+                    .transformDeferred(BulkheadOperator.of(userBulkhead))
+                    .timeout(Duration.ofSeconds(10))
+                    .block();
+            // Callers read a missing owner as deleted, so an empty answer must not pass for one
+            if (response == null || response.getData() == null) {
+                throw new IllegalStateException("User department lookup returned no data");
+            }
+            for (UserDepartmentDto user : response.getData()) {
+                departmentIds.put(user.getUserId(), user.getDepartment() != null ? user.getDepartment().getDepartmentId() : null);
+            }
+        }
+        return departmentIds;
+    }
+
+    @Override
+    @CircuitBreaker(name = "userService", fallbackMethod = "fallbackUnchanged")
+    public boolean isUserUnchanged(String userId, String etag) {
+        if (userId == null || etag == null) return false;
+
+        HttpStatusCode status = userClient.get()
+                .uri(USER_API_PATH + userId + USER_FIELDS)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchangeToMono(clientResponse -> clientResponse.releaseBody().thenReturn(clientResponse.statusCode()))
+                .transformDeferred(BulkheadOperator.of(userBulkhead))
+                .timeout(Duration.ofSeconds(3))
+                .block();
+        return status != null && status.isSameCodeAs(HttpStatus.NOT_MODIFIED);
+    }
+
+    public boolean fallbackUnchanged(String userId, String etag, Throwable throwable) {
+        logger.error("Failed revalidate User by ID {}. Error: {}", userId, throwable.toString());
+        return false;
+    }
+
+    public Map<String, UserDto> fallbackBatch(Collection<String> userIds, Throwable throwable) {
+        logger.error("Failed get data User for {} IDs. Error: {}", userIds.size(), throwable.toString());
+        return staleUsers(userIds);
     }
 
     public UserDto fallback(String userId, Throwable throwable) {
         logger.error("Failed get data User by ID {}. Error: {}", userId, throwable.toString());
-        return null;
+        if (throwable instanceof DataNotFoundException) {
+            userStaleStore.invalidate(userId);
+            return null;
+        }
+        return staleUsers(List.of(userId)).get(userId);
+    }
+
+    // No ETag on stale copies, so a task built from one cannot be revalidated later
+    private Map<String, UserDto> staleUsers(Collection<String> userIds) {
+        Map<String, UserDto> stale = new HashMap<>();
+        for (String userId : userIds) {
+            StaleStore.Stale<UserDto> entry = userStaleStore.get(userId);
+            if (entry == null) continue;
+            UserDto user = entry.getValue();
+            stale.put(userId, new UserDto(user.getUserId(), user.getNama(), user.getEmail(),
+                    user.getDepartment(), user.getAddress(), null, entry.getAgeMs()));
+        }
+        refreshInBackground(stale.keySet());
+        return stale;
+    }
+
+    // Goes through the circuit breaker, so an open circuit turns refreshes into cheap rejections
+    private void refreshInBackground(Collection<String> userIds) {
+        List<String> due = userIds.stream().filter(userStaleStore::tryStartRefresh).toList();
+        if (due.isEmpty()) return;
+        fetchUsers(due)
+                .transformDeferred(refreshCircuitBreaker)
+                // Subscribed off the request thread so the caller's spent deadline does not apply
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(refreshed -> logger.info("Refreshed {} stale User entries", refreshed.size()),
+                        e -> logger.debug("Background User refresh failed: {}", e.toString()));
     }
 }
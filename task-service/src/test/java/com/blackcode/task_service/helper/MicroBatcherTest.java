@@ -0,0 +1,148 @@
+package com.blackcode.task_service.helper;
+
+import com.blackcode.task_service.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MicroBatcherTest {
+
+    private final List<Set<String>> batches = new CopyOnWriteArrayList<>();
+
+    private MicroBatcher<String, String> batcher(Duration window, int maxBatchSize,
+                                                 Function<Set<String>, Mono<Map<String, String>>> loader) {
+        return new MicroBatcher<>("test", window, maxBatchSize, keys -> {
+            batches.add(Set.copyOf(keys));
+            return loader.apply(keys);
+        }, new SimpleMeterRegistry());
+    }
+
+    private static Mono<Map<String, String>> upperCase(Set<String> keys) {
+        Map<String, String> values = new HashMap<>();
+        keys.stream().filter(key -> !key.startsWith("missing")).forEach(key -> values.put(key, key.toUpperCase()));
+        return Mono.just(values);
+    }
+
+    @Test
+    void fullBatchIsSentAtOnceAndFansOutToEveryCaller() throws Exception {
+        MicroBatcher<String, String> batcher = batcher(Duration.ofSeconds(10), 3, MicroBatcherTest::upperCase);
+
+        CompletableFuture<String> a1 = batcher.load("a").toFuture();
+        CompletableFuture<String> b = batcher.load("b").toFuture();
+        CompletableFuture<String> a2 = batcher.load("a").toFuture();
+        CompletableFuture<String> missing = batcher.load("missing").toFuture();
+
+        assertThat(a1.get(1, TimeUnit.SECONDS)).isEqualTo("A");
+        assertThat(a2.get(1, TimeUnit.SECONDS)).isEqualTo("A");
+        assertThat(b.get(1, TimeUnit.SECONDS)).isEqualTo("B");
+        assertThat(missing.get(1, TimeUnit.SECONDS)).isNull();
+        assertThat(batches).containsExactly(Set.of("a", "b", "missing"));
+    }
+
+    @Test
+    void partialBatchIsSentWhenTheWindowCloses() throws Exception {
+        MicroBatcher<String, String> batcher = batcher(Duration.ofMillis(20), 100, MicroBatcherTest::upperCase);
+
+        CompletableFuture<String> a = batcher.load("a").toFuture();
+        CompletableFuture<String> b = batcher.load("b").toFuture();
+
+        assertThat(a.get(1, TimeUnit.SECONDS)).isEqualTo("A");
+        assertThat(b.get(1, TimeUnit.SECONDS)).isEqualTo("B");
+        assertThat(batches).containsExactly(Set.of("a", "b"));
+
+        assertThat(batcher.load("c").block(Duration.ofSeconds(1))).isEqualTo("C");
+        assertThat(batches).hasSize(2);
+    }
+
+    @Test
+    void loaderErrorFailsEveryCallerInTheBatch() {
+        IllegalStateException failure = new IllegalStateException("dependency down");
+        MicroBatcher<String, String> batcher = batcher(Duration.ofSeconds(10), 2, keys -> Mono.error(failure));
+
+        CompletableFuture<String> a = batcher.load("a").toFuture();
+        CompletableFuture<String> b = batcher.load("b").toFuture();
+
+        for (CompletableFuture<String> future : List.of(a, b)) {
+            assertThatThrownBy(() -> future.get(1, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCause(failure);
+        }
+    }
+
+    @Test
+    void loaderThatCompletesEmptyResolvesCallersEmpty() throws Exception {
+        MicroBatcher<String, String> batcher = batcher(Duration.ofSeconds(10), 1, keys -> Mono.empty());
+
+        assertThat(batcher.load("a").toFuture().get(1, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    void cancelledCallerDoesNotCancelTheSharedResult() throws Exception {
+        MicroBatcher<String, String> batcher = batcher(Duration.ofMillis(20), 100, MicroBatcherTest::upperCase);
+
+        batcher.load("a").subscribe().dispose();
+        CompletableFuture<String> other = batcher.load("a").toFuture();
+
+        assertThat(other.get(1, TimeUnit.SECONDS)).isEqualTo("A");
+    }
+
+    @Test
+    void loaderRunsWithTheLatestCallerDeadlineOrNoneIfACallerHasNone() throws Exception {
+        List<Optional<Long>> seen = new CopyOnWriteArrayList<>();
+        MicroBatcher<String, String> batcher = batcher(Duration.ofSeconds(10), 3, keys -> Mono.deferContextual(context -> {
+            seen.add(Optional.ofNullable(RequestDeadline.current(context)));
+            return upperCase(keys);
+        }));
+        long now = System.nanoTime();
+        long early = now + TimeUnit.SECONDS.toNanos(5);
+        long late = now + TimeUnit.SECONDS.toNanos(10);
+
+        CompletableFuture<String> a = batcher.load("a").contextWrite(RequestDeadline.of(early)).toFuture();
+        CompletableFuture<String> b = batcher.load("b").contextWrite(RequestDeadline.of(late)).toFuture();
+        CompletableFuture<String> c = batcher.load("c").contextWrite(RequestDeadline.of(early)).toFuture();
+        CompletableFuture.allOf(a, b, c).get(1, TimeUnit.SECONDS);
+
+        CompletableFuture<String> d = batcher.load("d").contextWrite(RequestDeadline.of(late)).toFuture();
+        CompletableFuture<String> e = batcher.load("e").toFuture();
+        CompletableFuture<String> f = batcher.load("f").contextWrite(RequestDeadline.of(early)).toFuture();
+        CompletableFuture.allOf(d, e, f).get(1, TimeUnit.SECONDS);
+
+        assertThat(seen).containsExactly(Optional.of(late), Optional.empty());
+    }
+
+    @Test
+    void callerStopsWaitingAtItsOwnDeadlineWhileTheBatchCarriesOn() throws Exception {
+        MicroBatcher<String, String> batcher = batcher(Duration.ofSeconds(10), 2,
+                keys -> upperCase(keys).delayElement(Duration.ofMillis(300)));
+
+        CompletableFuture<String> hurried = batcher.load("a")
+                .contextWrite(RequestDeadline.of(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50))).toFuture();
+        CompletableFuture<String> patient = batcher.load("b").toFuture();
+
+        assertThatThrownBy(() -> hurried.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(DeadlineExceededException.class);
+        assertThat(patient.get(1, TimeUnit.SECONDS)).isEqualTo("B");
+    }
+
+    @Test
+    void callerPastItsDeadlineIsNotBatched() {
+        MicroBatcher<String, String> batcher = batcher(Duration.ofMillis(20), 100, MicroBatcherTest::upperCase);
+
+        assertThatThrownBy(() -> batcher.load("a")
+                .contextWrite(RequestDeadline.of(System.nanoTime() - 1)).block(Duration.ofSeconds(1)))
+                .isInstanceOf(DeadlineExceededException.class);
+        assertThat(batches).isEmpty();
+    }
+}
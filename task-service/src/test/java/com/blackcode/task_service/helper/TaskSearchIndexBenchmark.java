@@ -0,0 +1,101 @@
+package com.blackcode.task_service.helper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Search latency of {@link TaskSearchIndex} over a seeded synthetic corpus, skipped in the regular build.
+ * Run with {@code mvn test -Dtest=TaskSearchIndexBenchmark -Dbenchmark=true}; {@code -Dbenchmark.tasks}
+ * changes the corpus size (1M by default). Words follow a Zipf-like distribution, so the most common
+ * word matches a large share of all tasks, like "fix" or "update" would in real task names.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TaskSearchIndexBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+
+    private static final int OWNERS = 10_000;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final int WARMUP_RUNS = 30;
+
+    private static final int MEASURED_RUNS = 200;
+
+    private final Random random = new Random(42);
+
+    @Test
+    void searchLatency() {
+        int tasks = Integer.getInteger("benchmark.tasks", 1_000_000);
+        TaskSearchIndex index = new TaskSearchIndex();
+        long started = System.nanoTime();
+        for (long id = 1; id <= tasks; id++) {
+            index.upsert(id, words(3, 6), words(8, 20), owner(random.nextInt(OWNERS)));
+        }
+        System.out.printf("Indexed %,d tasks in %d ms%n", tasks, (System.nanoTime() - started) / 1_000_000);
+
+        Map<String, Supplier<TaskSearchIndex.SearchResult>> queries = new LinkedHashMap<>();
+        queries.put("common term", () -> index.search(word(0), null, null, PAGE_SIZE + 1));
+        queries.put("mid term", () -> index.search(word(100), null, null, PAGE_SIZE + 1));
+        queries.put("rare term", () -> index.search(word(10_000), null, null, PAGE_SIZE + 1));
+        queries.put("common + mid", () -> index.search(word(0) + " " + word(100), null, null, PAGE_SIZE + 1));
+        queries.put("common + common", () -> index.search(word(0) + " " + word(1), null, null, PAGE_SIZE + 1));
+        queries.put("common, one owner", () -> index.search(word(0), owner(7), null, PAGE_SIZE + 1));
+        TaskSearchIndex.Hit tenthPage = pageStart(index, word(0), 10);
+        queries.put("common, page 10", () -> index.search(word(0), null, tenthPage, PAGE_SIZE + 1));
+
+        System.out.printf("%-20s %10s %10s %10s %10s%n", "query", "hits", "p50 ms", "p99 ms", "max ms");
+        queries.forEach((name, query) -> {
+            TaskSearchIndex.SearchResult result = null;
+            for (int i = 0; i < WARMUP_RUNS; i++) result = query.get();
+            assertThat(result.getHits()).isNotEmpty();
+
+            long[] nanos = new long[MEASURED_RUNS];
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                long start = System.nanoTime();
+                query.get();
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+            System.out.printf("%-20s %,10d %10.2f %10.2f %10.2f%n", name, result.getTotalHits(),
+                    millis(nanos[MEASURED_RUNS / 2]), millis(nanos[MEASURED_RUNS * 99 / 100]), millis(nanos[MEASURED_RUNS - 1]));
+        });
+    }
+
+    private static TaskSearchIndex.Hit pageStart(TaskSearchIndex index, String query, int page) {
+        TaskSearchIndex.Hit after = null;
+        for (int i = 1; i < page; i++) {
+            List<TaskSearchIndex.Hit> hits = index.search(query, null, after, PAGE_SIZE).getHits();
+            after = hits.get(hits.size() - 1);
+        }
+        return after;
+    }
+
+    private String words(int min, int max) {
+        int count = min + random.nextInt(max - min + 1);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) text.append(' ');
+            // Log-uniform rank: word r is drawn about as often as 1 / r, as in natural text
+            text.append(word((int) Math.pow(VOCABULARY, random.nextDouble()) - 1));
+        }
+        return text.toString();
+    }
+
+    private static String word(int rank) {
+        return "w" + Integer.toString(rank, 36);
+    }
+
+    private static String owner(int number) {
+        return "user-" + number;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,140 @@
+package com.blackcode.task_service.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskSearchIndexTest {
+
+    @Test
+    void ranksBestMatchFirstRegardlessOfInsertionOrder() {
+        TaskSearchIndex index = new TaskSearchIndex();
+        for (long id = 1; id <= 150_000; id++) {
+            index.upsert(id, "Weekly report " + id, "Collect numbers for the report", "owner");
+        }
+        // Indexed last, past any cap on examined matches, and the only task with the term in a short name
+        index.upsert(200_000, "Report", null, "owner");
+
+        TaskSearchIndex.SearchResult result = index.search("report", null, null, 5);
+
+        assertThat(result.getTotalHits()).isEqualTo(150_001);
+        assertThat(result.getHits()).hasSize(5);
+        assertThat(result.getHits().get(0).getTaskId()).isEqualTo(200_000);
+    }
+
+    @Test
+    void nameMatchOutranksDescriptionMatch() {
+        TaskSearchIndex index = new TaskSearchIndex();
+        index.upsert(1, "Fix login", "Users cannot deploy", "a");
+        index.upsert(2, "Deploy service", "Roll out the release", "a");
+        index.upsert(3, "Plan sprint", "Nothing to do with it", "a");
+
+        assertThat(ids(index.search("deploy", null, null, 10))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void everyQueryTokenMustMatch() {
+        TaskSearchIndex index = new TaskSearchIndex();
+        index.upsert(1, "Deploy service", "to staging", "a");
+        index.upsert(2, "Deploy service", "to production", "a");
+        index.upsert(3, "Review service", "production config", "a");
+
+        assertThat(ids(index.search("service production", null, null, 10))).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(ids(index.search("deploy production", null, null, 10))).containsExactly(2L);
+        assertThat(index.search("deploy unknown", null, null, 10).getTotalHits()).isZero();
+    }
+
+    @Test
+    void keysetPagesCoverEveryMatchOnce() {
+        TaskSearchIndex index = new TaskSearchIndex();
+        for (long id = 1; id <= 1_000; id++) {
+            index.upsert(id, id % 2 == 0 ? "Task alpha" : "Alpha", "description " + id, "owner");
+        }
+
+        List<Long> seen = new ArrayList<>();
+        TaskSearchIndex.Hit after = null;
+        while (true) {
+            List<TaskSearchIndex.Hit> page = index.search("alpha", null, after, 64).getHits();
+            if (page.isEmpty()) break;
+            page.forEach(hit -> seen.add(hit.getTaskId()));
+            after = page.get(page.size() - 1);
+        }
+
+        assertThat(seen).hasSize(1_000).doesNotHaveDuplicates();
+        // Short names score higher, and all of them are odd ids
+        assertThat(seen.subList(0, 500)).allMatch(id -> id % 2 == 1);
+    }
+
+    @Test
+    void filtersByOwnerAndFollowsReassignment() {
+        TaskSearchIndex index = new TaskSearchIndex();
+        index.upsert(1, "Write docs", null, "ann");
+        index.upsert(2, "Write tests", null, "bob");
+
+        assertThat(ids(index.search("write", "ann", null, 10))).containsExactly(1L);
+
+        assertThat(index.reassign("ann", "bob")).isEqualTo(1);
+        assertThat(index.search("write", "ann", null, 10).getTotalHits()).isZero();
+        assertThat(ids(index.search("write", "bob", null, 10))).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void updatesReplaceTheOldTextAndSurviveCompaction() {
+        TaskSearchIndex index = new TaskSearchIndex();
+        for (long id = 1; id <= 5_000; id++) {
+            index.upsert(id, "Draft", null, "owner");
+        }
+        // Enough rewrites to leave more dead than live documents, which triggers a compaction
+        for (int round = 0; round < 3; round++) {
+            for (long id = 1; id <= 5_000; id++) {
+                index.upsert(id, round == 2 && id <= 10 ? "Final" : "Draft", null, "owner");
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(5_000);
+        assertThat(index.search("draft", null, null, 1).getTotalHits()).isEqualTo(4_990);
+        assertThat(ids(index.search("final", null, null, 20)))
+                .containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+    }
+
+    @Test
+    void buildDoesNotResurrectTasksDeletedWhileItRuns() {
+        TaskSearchIndex index = new TaskSearchIndex();
+        index.startBuild();
+        // Deleted after the build read the row but before it reached the index
+        index.remove(7);
+        assertThat(index.addIfAbsent(7, "Ghost", null, "owner")).isFalse();
+        assertThat(index.addIfAbsent(8, "Ghost", null, "owner")).isTrue();
+        index.finishBuild();
+
+        assertThat(ids(index.search("ghost", null, null, 10))).containsExactly(8L);
+        // Tombstones only last for the build
+        assertThat(index.addIfAbsent(7, "Ghost", null, "owner")).isTrue();
+    }
+
+    @Test
+    void buildKeepsWritesAndReassignmentsThatLandWhileItRuns() {
+        TaskSearchIndex index = new TaskSearchIndex();
+        index.startBuild();
+        index.upsert(1, "Newer name", null, "ann");
+        index.reassign("ann", "bob");
+        index.reassign("bob", "cid");
+        // Rows read before the writes above
+        assertThat(index.addIfAbsent(1, "Older name", null, "ann")).isFalse();
+        assertThat(index.addIfAbsent(2, "Older row", null, "ann")).isTrue();
+        assertThat(index.addIfAbsent(3, "Older row", null, "dan")).isTrue();
+        index.finishBuild();
+
+        assertThat(ids(index.search("newer", "cid", null, 10))).containsExactly(1L);
+        assertThat(index.search("older", null, null, 10).getTotalHits()).isEqualTo(2);
+        assertThat(ids(index.search("older", "cid", null, 10))).containsExactly(2L);
+        assertThat(ids(index.search("older", "dan", null, 10))).containsExactly(3L);
+    }
+
+    private static List<Long> ids(TaskSearchIndex.SearchResult result) {
+        return result.getHits().stream().map(TaskSearchIndex.Hit::getTaskId).toList();
+    }
+}
@@ -0,0 +1,80 @@
+package com.blackcode.task_service.helper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TermPostingListTest {
+
+    @Test
+    void advanceFindsFirstDocAtOrAfterTarget() {
+        TermPostingList list = listOf(0, 3, 7, 8, 20, 21, 50, 99);
+
+        assertThat(list.advance(0, 0)).isEqualTo(0);
+        assertThat(list.advance(0, 7)).isEqualTo(2);
+        assertThat(list.advance(0, 9)).isEqualTo(4);
+        assertThat(list.advance(2, 21)).isEqualTo(5);
+        assertThat(list.advance(3, 51)).isEqualTo(7);
+        // Past the last doc the cursor lands on size()
+        assertThat(list.advance(0, 100)).isEqualTo(list.size());
+        assertThat(list.advance(list.size(), 5)).isEqualTo(list.size());
+        // Never moves backwards from the lower bound
+        assertThat(list.advance(4, 3)).isEqualTo(4);
+    }
+
+    @Test
+    void advanceAgreesWithLinearScanOverLongList() {
+        TermPostingList list = new TermPostingList();
+        for (int doc = 0; doc < 10_000; doc += 3) {
+            list.add(doc, 1);
+        }
+        int cursor = 0;
+        for (int target = 0; target < 10_010; target += 7) {
+            cursor = list.advance(cursor, target);
+            int expected = 0;
+            while (expected < list.size() && list.doc(expected) < target) expected++;
+            assertThat(cursor).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void remapDropsDeadDocsAndKeepsFrequencies() {
+        TermPostingList list = new TermPostingList();
+        list.add(1, 3);
+        list.add(4, 1);
+        list.add(6, 4);
+        list.add(9, 2);
+        int[] newDocs = {-1, 0, -1, -1, -1, -1, 1, -1, -1, 2};
+
+        TermPostingList remapped = list.remap(newDocs);
+
+        assertThat(remapped.size()).isEqualTo(3);
+        assertThat(remapped.doc(0)).isEqualTo(0);
+        assertThat(remapped.frequency(0)).isEqualTo(3);
+        assertThat(remapped.doc(1)).isEqualTo(1);
+        assertThat(remapped.frequency(1)).isEqualTo(4);
+        assertThat(remapped.doc(2)).isEqualTo(2);
+        assertThat(remapped.frequency(2)).isEqualTo(2);
+        assertThat(remapped.advance(0, 2)).isEqualTo(2);
+        // The source list is left as it was
+        assertThat(list.size()).isEqualTo(4);
+    }
+
+    @Test
+    void remapOfOnlyDeadDocsIsEmptyAndStillGrows() {
+        TermPostingList remapped = listOf(0, 1).remap(new int[]{-1, -1});
+
+        assertThat(remapped.size()).isZero();
+        remapped.add(5, 1);
+        assertThat(remapped.size()).isEqualTo(1);
+        assertThat(remapped.doc(0)).isEqualTo(5);
+    }
+
+    private static TermPostingList listOf(int... docs) {
+        TermPostingList list = new TermPostingList();
+        for (int doc : docs) {
+            list.add(doc, 1);
+        }
+        return list;
+    }
+}
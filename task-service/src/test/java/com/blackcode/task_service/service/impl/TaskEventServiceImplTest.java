@@ -0,0 +1,156 @@
+package com.blackcode.task_service.service.impl;
+
+import com.blackcode.task_service.dto.TaskEventDto;
+import com.blackcode.task_service.exception.StreamCapacityException;
+import com.blackcode.task_service.model.Task;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskEventServiceImplTest {
+
+    private static final int LOG_CAPACITY = 8;
+
+    private TaskEventServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        start(32);
+    }
+
+    private void start(int subscriberBufferSize) {
+        if (service != null) service.stop();
+        service = new TaskEventServiceImpl(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "logCapacity", LOG_CAPACITY);
+        ReflectionTestUtils.setField(service, "subscriberBufferSize", subscriberBufferSize);
+        ReflectionTestUtils.setField(service, "maxSubscribers", 2);
+        ReflectionTestUtils.setField(service, "dispatchThreads", 1);
+        ReflectionTestUtils.setField(service, "streamTimeoutMs", 60_000L);
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void resumesWithTheEventsMissedSinceLastEventId() throws Exception {
+        List<String> ids = publish(5, "ann");
+
+        List<TaskEventDto> replayed = received(service.subscribe(null, ids.get(1)), 3);
+
+        assertThat(replayed).extracting(TaskEventDto::getEventId).containsExactlyElementsOf(ids.subList(2, 5));
+        assertThat(replayed).extracting(TaskEventDto::getType).containsOnly("CREATED");
+    }
+
+    @Test
+    void resumeOnlyReplaysEventsOfTheFilteredOwner() throws Exception {
+        List<String> ids = publish(2, "ann");
+        publish(2, "bob");
+        service.tasksReassigned("ann", "cid");
+
+        List<TaskEventDto> replayed = received(service.subscribe("bob", ids.get(0)), 2);
+
+        assertThat(replayed).extracting(TaskEventDto::getTaskUserId).containsOnly("bob");
+        // The reassignment away from ann reaches a subscriber filtered on ann as well
+        assertThat(received(service.subscribe("ann", ids.get(1)), 1))
+                .extracting(TaskEventDto::getType).containsExactly("REASSIGNED");
+    }
+
+    @Test
+    void lastEventIdOlderThanTheLogGetsReset() throws Exception {
+        List<String> ids = publish(LOG_CAPACITY + 3, "ann");
+
+        List<TaskEventDto> replayed = received(service.subscribe(null, ids.get(1)), 1);
+
+        assertThat(replayed).hasSize(1);
+        assertThat(replayed.get(0).getType()).isEqualTo("RESET");
+        // Carries the newest id, so the client resumes from there after reloading
+        assertThat(replayed.get(0).getEventId()).isEqualTo(ids.get(ids.size() - 1));
+    }
+
+    @Test
+    void resumesFromJustBeforeTheOldestEventInTheLog() throws Exception {
+        List<String> ids = publish(LOG_CAPACITY + 3, "ann");
+        // The log holds the last LOG_CAPACITY events, so this is the oldest id a client can resume from
+        int lastSeen = ids.size() - LOG_CAPACITY - 1;
+
+        List<TaskEventDto> replayed = received(service.subscribe(null, ids.get(lastSeen)), LOG_CAPACITY);
+
+        assertThat(replayed).extracting(TaskEventDto::getEventId).containsExactlyElementsOf(ids.subList(lastSeen + 1, ids.size()));
+        assertThat(received(service.subscribe(null, ids.get(lastSeen - 1)), 1))
+                .extracting(TaskEventDto::getType).containsExactly("RESET");
+    }
+
+    @Test
+    void moreMissedEventsThanTheBufferGetReset() throws Exception {
+        start(3);
+        List<String> ids = publish(5, "ann");
+
+        List<TaskEventDto> replayed = received(service.subscribe(null, ids.get(0)), 1);
+
+        assertThat(replayed).extracting(TaskEventDto::getType).containsExactly("RESET");
+    }
+
+    @Test
+    void idFromAnotherRunOrMalformedIdGetsReset() throws Exception {
+        List<String> ids = publish(2, "ann");
+        String otherEpoch = "1-" + ids.get(0).substring(ids.get(0).indexOf('-') + 1);
+
+        assertThat(received(service.subscribe(null, otherEpoch), 1))
+                .extracting(TaskEventDto::getType).containsExactly("RESET");
+        assertThat(received(service.subscribe(null, "not-an-id"), 1))
+                .extracting(TaskEventDto::getType).containsExactly("RESET");
+    }
+
+    @Test
+    void rejectsSubscribersBeyondTheLimit() {
+        service.subscribe(null, null);
+        service.subscribe(null, null);
+
+        assertThatThrownBy(() -> service.subscribe(null, null)).isInstanceOf(StreamCapacityException.class);
+    }
+
+    // Ids of the published events, in the epoch-sequence form the service assigns
+    private List<String> publish(int count, String owner) {
+        long epoch = (long) ReflectionTestUtils.getField(service, "epoch");
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(epoch + "-" + ReflectionTestUtils.getField(service, "nextSeq"));
+            Task task = new Task();
+            task.setTaskId((long) i);
+            task.setTaskName("Task " + i);
+            task.setTaskUserId(owner);
+            service.taskCreated(task);
+        }
+        return ids;
+    }
+
+    // No HTTP response is attached, so the emitter keeps what the dispatcher sent; waits until at least min events arrived
+    private static List<TaskEventDto> received(SseEmitter emitter, int min) throws InterruptedException {
+        long deadline = System.nanoTime() + 2_000_000_000L;
+        while (true) {
+            List<TaskEventDto> events = new ArrayList<>();
+            synchronized (emitter) {
+                Set<?> sent = (Set<?>) ReflectionTestUtils.getField(emitter, "earlySendAttempts");
+                for (Object part : List.copyOf(sent)) {
+                    Object data = ReflectionTestUtils.invokeMethod(part, "getData");
+                    if (data instanceof TaskEventDto event) events.add(event);
+                }
+            }
+            if (events.size() >= min || System.nanoTime() > deadline) return events;
+            Thread.sleep(5);
+        }
+    }
+}
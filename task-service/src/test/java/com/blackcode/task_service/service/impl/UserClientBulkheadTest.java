@@ -0,0 +1,111 @@
+package com.blackcode.task_service.service.impl;
+
+import com.blackcode.task_service.dto.UserDto;
+import com.blackcode.task_service.helper.StaleStore;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.springboot3.bulkhead.autoconfigure.BulkheadAutoConfiguration;
+import io.github.resilience4j.springboot3.circuitbreaker.autoconfigure.CircuitBreakerAutoConfiguration;
+import io.github.resilience4j.springboot3.retry.autoconfigure.RetryAutoConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// The user-service bulkhead as application.yml configures it, with a single permit the test holds to saturate it
+@SpringBootTest(classes = UserClientBulkheadTest.Config.class,
+        properties = "resilience4j.bulkhead.instances.userService.maxConcurrentCalls=1")
+class UserClientBulkheadTest {
+
+    private static final AtomicInteger exchanges = new AtomicInteger();
+
+    @Autowired
+    private UserClientServiceImpl userClientService;
+
+    @Autowired
+    @Qualifier("userStaleStore")
+    private StaleStore<String, UserDto> userStaleStore;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Test
+    void saturatedDependencyIsRejectedAndServedFromTheFallback() {
+        userStaleStore.put("u1", new UserDto("u1", "Budi", "budi@example.com", null, null, "\"v1\"", null));
+        Bulkhead userBulkhead = bulkheadRegistry.bulkhead("userService");
+        assertThat(userBulkhead.tryAcquirePermission()).isTrue();
+        int exchangesBefore = exchanges.get();
+
+        UserDto user = userClientService.getUserById("u1");
+
+        // Answered from the last-known-good copy without reaching user-service
+        assertThat(user.getNama()).isEqualTo("Budi");
+        assertThat(user.getStaleAgeMs()).isNotNull();
+        assertThat(exchanges.get()).isEqualTo(exchangesBefore);
+        // The strict lookup has no fallback and reports the rejection itself
+        assertThatThrownBy(() -> userClientService.getUserByIdsStrict(List.of("u1")))
+                .isInstanceOf(BulkheadFullException.class);
+
+        userBulkhead.releasePermission();
+
+        UserDto live = userClientService.getUserById("u1");
+        assertThat(live.getStaleAgeMs()).isNull();
+        assertThat(live.getEtag()).isEqualTo("\"v2\"");
+        assertThat(exchanges.get()).isGreaterThan(exchangesBefore);
+    }
+
+    @Configuration
+    @Import(UserClientServiceImpl.class)
+    @ImportAutoConfiguration({AopAutoConfiguration.class, CircuitBreakerAutoConfiguration.class,
+            RetryAutoConfiguration.class, BulkheadAutoConfiguration.class})
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        @Qualifier("userStaleStore")
+        StaleStore<String, UserDto> userStaleStore(MeterRegistry meterRegistry) {
+            return new StaleStore<>("user", 100, Duration.ofHours(1), Duration.ofMinutes(1), meterRegistry);
+        }
+
+        @Bean
+        @Qualifier("userClient")
+        WebClient userClient() {
+            return WebClient.builder()
+                    .exchangeFunction(request -> {
+                        exchanges.incrementAndGet();
+                        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .header(HttpHeaders.ETAG, "\"v2\"")
+                                .body("{\"status\":\"success\",\"statusCode\":200,\"data\":"
+                                        + "{\"userId\":\"u1\",\"nama\":\"Budi\",\"email\":\"budi@example.com\"}}")
+                                .build());
+                    })
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.blackcode.user_service.config;
+
+import com.blackcode.user_service.helper.UserProjection;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // UserRes is serialized in full unless a request attaches its own projection filter
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer userResFilterCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .addFilter(UserProjection.FILTER_ID, SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
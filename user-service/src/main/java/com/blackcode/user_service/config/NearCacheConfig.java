@@ -0,0 +1,34 @@
+package com.blackcode.user_service.config;
+
+import com.blackcode.user_service.dto.AddressDto;
+import com.blackcode.user_service.dto.DepartmentDto;
+import com.blackcode.user_service.helper.NearCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class NearCacheConfig {
+
+    @Bean
+    @Qualifier("departmentNearCache")
+    public NearCache<Long, DepartmentDto> departmentNearCache(
+            @Value("${blackcode.app.nearCache.department.maximumSize:10000}") long maximumSize,
+            @Value("${blackcode.app.nearCache.department.ttl:10m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        return new NearCache<>("department", maximumSize, ttl, department -> department.getStaleAgeMs() == null, meterRegistry);
+    }
+
+    @Bean
+    @Qualifier("addressNearCache")
+    public NearCache<Long, AddressDto> addressNearCache(
+            @Value("${blackcode.app.nearCache.address.maximumSize:10000}") long maximumSize,
+            @Value("${blackcode.app.nearCache.address.ttl:10m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        return new NearCache<>("address", maximumSize, ttl, address -> address.getStaleAgeMs() == null, meterRegistry);
+    }
+}
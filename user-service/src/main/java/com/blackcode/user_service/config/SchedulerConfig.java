@@ -0,0 +1,22 @@
+package com.blackcode.user_service.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+@EnableScheduling
+public class SchedulerConfig {
+
+    // Blocking JPA calls on the reactive read path run here, sized to the connection pool
+    @Bean(destroyMethod = "dispose")
+    @Qualifier("jpaScheduler")
+    public Scheduler jpaScheduler(@Value("${blackcode.app.jpaScheduler.threadCap:10}") int threadCap,
+                                  @Value("${blackcode.app.jpaScheduler.queuedTaskCap:1000}") int queuedTaskCap) {
+        return Schedulers.newBoundedElastic(threadCap, queuedTaskCap, "user-jpa");
+    }
+}
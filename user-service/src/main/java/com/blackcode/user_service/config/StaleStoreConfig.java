@@ -0,0 +1,36 @@
+package com.blackcode.user_service.config;
+
+import com.blackcode.user_service.dto.AddressDto;
+import com.blackcode.user_service.dto.DepartmentDto;
+import com.blackcode.user_service.helper.StaleStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class StaleStoreConfig {
+
+    @Bean
+    @Qualifier("departmentStaleStore")
+    public StaleStore<Long, DepartmentDto> departmentStaleStore(
+            @Value("${blackcode.app.staleStore.department.maximumSize:50000}") long maximumSize,
+            @Value("${blackcode.app.staleStore.department.maxAge:6h}") Duration maxAge,
+            @Value("${blackcode.app.staleStore.minRefreshInterval:30s}") Duration minRefreshInterval,
+            MeterRegistry meterRegistry) {
+        return new StaleStore<>("department", maximumSize, maxAge, minRefreshInterval, meterRegistry);
+    }
+
+    @Bean
+    @Qualifier("addressStaleStore")
+    public StaleStore<Long, AddressDto> addressStaleStore(
+            @Value("${blackcode.app.staleStore.address.maximumSize:50000}") long maximumSize,
+            @Value("${blackcode.app.staleStore.address.maxAge:6h}") Duration maxAge,
+            @Value("${blackcode.app.staleStore.minRefreshInterval:30s}") Duration minRefreshInterval,
+            MeterRegistry meterRegistry) {
+        return new StaleStore<>("address", maximumSize, maxAge, minRefreshInterval, meterRegistry);
+    }
+}
@@ -0,0 +1,70 @@
+package com.blackcode.user_service.controller;
+
+import com.blackcode.user_service.dto.AddressDto;
+import com.blackcode.user_service.dto.DepartmentDto;
+import com.blackcode.user_service.dto.NearCacheStatsRes;
+import com.blackcode.user_service.exception.DataNotFoundException;
+import com.blackcode.user_service.helper.NearCache;
+import com.blackcode.user_service.utils.ApiResponse;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/user/cache")
+public class NearCacheController {
+
+    private final Map<String, NearCache<Long, ?>> nearCaches;
+
+    public NearCacheController(@Qualifier("departmentNearCache") NearCache<Long, DepartmentDto> departmentNearCache,
+                               @Qualifier("addressNearCache") NearCache<Long, AddressDto> addressNearCache) {
+        this.nearCaches = Map.of(
+                departmentNearCache.getName(), departmentNearCache,
+                addressNearCache.getName(), addressNearCache);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<List<NearCacheStatsRes>>> getStats() {
+        List<NearCacheStatsRes> statsRes = nearCaches.values().stream().map(this::mapToNearCacheStatsRes).toList();
+        return ResponseEntity.ok(ApiResponse.success("Cache stats retrieved successfully", 200, statsRes));
+    }
+
+    @DeleteMapping("/{name}")
+    public ResponseEntity<ApiResponse<String>> invalidateAll(@PathVariable("name") String name) {
+        getNearCache(name).invalidateAll();
+        return ResponseEntity.ok(ApiResponse.success("Cache invalidated", 200, name));
+    }
+
+    @DeleteMapping("/{name}/{id}")
+    public ResponseEntity<ApiResponse<Long>> invalidate(@PathVariable("name") String name, @PathVariable("id") Long id) {
+        getNearCache(name).invalidate(id);
+        return ResponseEntity.ok(ApiResponse.success("Cache entry invalidated", 200, id));
+    }
+
+    private NearCache<Long, ?> getNearCache(String name) {
+        NearCache<Long, ?> nearCache = nearCaches.get(name);
+        if (nearCache == null) {
+            throw new DataNotFoundException("Cache not found with name: " + name);
+        }
+        return nearCache;
+    }
+
+    private NearCacheStatsRes mapToNearCacheStatsRes(NearCache<Long, ?> nearCache) {
+        CacheStats stats = nearCache.stats();
+        NearCacheStatsRes statsRes = new NearCacheStatsRes();
+        statsRes.setName(nearCache.getName());
+        statsRes.setSize(nearCache.size());
+        statsRes.setHitCount(stats.hitCount());
+        statsRes.setMissCount(stats.missCount());
+        statsRes.setHitRate(stats.hitRate());
+        statsRes.setLoadSuccessCount(stats.loadSuccessCount());
+        statsRes.setLoadFailureCount(stats.loadFailureCount());
+        statsRes.setAverageLoadTimeMs(stats.averageLoadPenalty() / 1_000_000.0);
+        statsRes.setEvictionCount(stats.evictionCount());
+        return statsRes;
+    }
+}
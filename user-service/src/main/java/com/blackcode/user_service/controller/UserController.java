@@ -1,16 +1,37 @@
 package com.blackcode.user_service.controller;
 
+import com.blackcode.user_service.dto.BulkUpsertRes;
+import com.blackcode.user_service.dto.UserPageRes;
 import com.blackcode.user_service.dto.UserReq;
 import com.blackcode.user_service.dto.UserRes;
 import com.blackcode.user_service.dto.UserResSyn;
+import com.blackcode.user_service.dto.UserSearchPageRes;
+import com.blackcode.user_service.helper.EtagUtils;
+import com.blackcode.user_service.helper.RequestDeadline;
+import com.blackcode.user_service.helper.UserProjection;
+import com.blackcode.user_service.service.UserBulkService;
+import com.blackcode.user_service.service.UserExportService;
+import com.blackcode.user_service.service.UserSearchService;
 import com.blackcode.user_service.service.UserService;
 import com.blackcode.user_service.utils.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import reactor.core.publisher.Mono;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
 
 
 @RestController
@@ -19,20 +40,99 @@ public class UserController {
 
     private final UserService userService;
 
-    public UserController(UserService userService) {
+    private final UserExportService userExportService;
+
+    private final UserSearchService userSearchService;
+
+    private final UserBulkService userBulkService;
+
+    @Value("${blackcode.app.export.timeout:30m}")
+    private Duration exportTimeout;
+
+    public UserController(UserService userService, UserExportService userExportService,
+                          UserSearchService userSearchService, UserBulkService userBulkService) {
         this.userService = userService;
+        this.userExportService = userExportService;
+        this.userSearchService = userSearchService;
+        this.userBulkService = userBulkService;
     }
 
     @GetMapping("/getAllUser")
-    public ResponseEntity<ApiResponse<List<UserRes>>> getAllUser() {
-        List<UserRes> userRes = userService.getAllUser();
-        return ResponseEntity.ok(ApiResponse.success("User retrieved successfully", 200, userRes));
+    public Mono<ResponseEntity<MappingJacksonValue>> getAllUser(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "50") int size,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "expand", required = false) String expand) {
+        UserProjection projection = UserProjection.of(fields, expand);
+        return userService.getAllUser(cursor, size, projection)
+                .map(userRes -> ResponseEntity.ok(project(ApiResponse.success("User retrieved successfully", 200, userRes), projection)))
+                .contextWrite(RequestDeadline.capture());
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<UserSearchPageRes>> searchUsers(
+            @RequestParam("q") String query,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        UserSearchPageRes searchRes = userSearchService.searchUsers(query, page, size);
+        return ResponseEntity.ok(ApiResponse.success("User search completed", 200, searchRes));
+    }
+
+    // Only the export gets the long timeout, every other async request keeps the container default
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportUsers(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                                          HttpServletResponse response) {
+        MediaType mediaType;
+        if ("ndjson".equalsIgnoreCase(format)) {
+            mediaType = MediaType.APPLICATION_NDJSON;
+        } else if ("csv".equalsIgnoreCase(format)) {
+            mediaType = new MediaType("text", "csv");
+        } else {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+        Callable<Void> export = () -> {
+            response.setContentType(mediaType.toString());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + format.toLowerCase() + "\"");
+            userExportService.exportUsers(format, response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        };
+        return new WebAsyncTask<>(exportTimeout.toMillis(), export);
     }
 
     @GetMapping("/getUserById/{id}")
-    public ResponseEntity<ApiResponse<UserRes>> getUserById(@PathVariable("id") String id){
-        UserRes userRes = userService.getUserById(id);
-        return ResponseEntity.ok(ApiResponse.success("User found",200, userRes));
+    public Mono<ResponseEntity<MappingJacksonValue>> getUserById(@PathVariable("id") String id,
+                                                                 @RequestParam(value = "fields", required = false) String fields,
+                                                                 @RequestParam(value = "expand", required = false) String expand,
+                                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        UserProjection projection = UserProjection.of(fields, expand);
+        // The ETag is read before the body, so a concurrent write can only make it older than the body
+        return userService.getUserEtag(id, projection)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(etag -> {
+                    if (etag.isPresent() && EtagUtils.matches(ifNoneMatch, etag.get())) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).<MappingJacksonValue>build());
+                    }
+                    return userService.getUserById(id, projection)
+                            .map(userRes -> {
+                                ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+                                etag.ifPresent(builder::eTag);
+                                return builder.body(project(ApiResponse.success("User found",200, userRes), projection));
+                            });
+                })
+                // Lookups run on the JPA scheduler, away from the thread holding the request deadline
+                .contextWrite(RequestDeadline.capture());
+    }
+
+    @PostMapping("/getUserByIds")
+    public Mono<ResponseEntity<MappingJacksonValue>> getUserByIds(@RequestBody Set<String> ids,
+                                                                  @RequestParam(value = "fields", required = false) String fields,
+                                                                  @RequestParam(value = "expand", required = false) String expand){
+        UserProjection projection = UserProjection.of(fields, expand);
+        return userService.getUserByIds(ids, projection)
+                .map(userRes -> ResponseEntity.ok(project(ApiResponse.success("User retrieved successfully", 200, userRes), projection)))
+                .contextWrite(RequestDeadline.capture());
     }
 
     @PostMapping("/addUser")
@@ -41,10 +141,19 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("User created", 201, userRes));
     }
 
+    @PostMapping(value = "/bulkUpsertUser", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ApiResponse<BulkUpsertRes>> bulkUpsertUser(InputStream body) throws IOException {
+        BulkUpsertRes bulkRes = userBulkService.bulkUpsertUsers(body);
+        return ResponseEntity.ok(ApiResponse.success("Bulk upsert completed", 200, bulkRes));
+    }
+
     @PutMapping("/updateUser/{id}")
-    public ResponseEntity<ApiResponse<UserRes>> updateUser(@PathVariable("id") String id, @RequestBody UserReq userReq){
-        UserRes userRes = userService.updateUser(id, userReq);
-        return ResponseEntity.ok(ApiResponse.success("User Update", 200, userRes));
+    public ResponseEntity<MappingJacksonValue> updateUser(@PathVariable("id") String id, @RequestBody UserReq userReq,
+                                                         @RequestParam(value = "fields", required = false) String fields,
+                                                         @RequestParam(value = "expand", required = false) String expand){
+        UserProjection projection = UserProjection.of(fields, expand);
+        UserRes userRes = userService.updateUser(id, userReq, projection);
+        return ResponseEntity.ok(project(ApiResponse.success("User Update", 200, userRes), projection));
     }
 
     @DeleteMapping("/deleteUser/{id}")
@@ -52,4 +161,11 @@ public class UserController {
         Map<String, Object> rtn = userService.deleteUser(id);
         return ResponseEntity.ok(ApiResponse.success("User deleted successfully", 200, rtn));
     }
+
+    // Unrequested UserRes properties are dropped at serialization, the ApiResponse envelope is untouched
+    private MappingJacksonValue project(Object body, UserProjection projection) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(projection.filterProvider());
+        return value;
+    }
 }
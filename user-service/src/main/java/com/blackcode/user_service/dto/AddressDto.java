@@ -1,5 +1,6 @@
 package com.blackcode.user_service.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -19,4 +20,8 @@ public class AddressDto {
 
     private String province;
 
+    // Set only when a failed lookup was answered from the last-known-good store
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long staleAgeMs;
+
 }
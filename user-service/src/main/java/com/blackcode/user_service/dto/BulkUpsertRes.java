@@ -0,0 +1,30 @@
+package com.blackcode.user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class BulkUpsertRes {
+
+    private int total;
+
+    private int created;
+
+    private int updated;
+
+    // Includes UNAVAILABLE items, which failed only because a dependency could not be reached
+    private int failed;
+
+    // True when the body held more items than one request may process; the rest was not read
+    private boolean truncated;
+
+    private List<BulkItemRes> items;
+
+}
@@ -0,0 +1,26 @@
+package com.blackcode.user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class ChangeEventDto<T> {
+
+    private Long version;
+
+    private String changeType;
+
+    private Long entityId;
+
+    private T data;
+
+    private LocalDateTime changedAt;
+
+}
@@ -0,0 +1,32 @@
+package com.blackcode.user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class NearCacheStatsRes {
+
+    private String name;
+
+    private long size;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private double hitRate;
+
+    private long loadSuccessCount;
+
+    private long loadFailureCount;
+
+    private double averageLoadTimeMs;
+
+    private long evictionCount;
+
+}
@@ -0,0 +1,20 @@
+package com.blackcode.user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class SnapshotDto<T> {
+
+    private Long version;
+
+    private List<T> items;
+
+}
@@ -0,0 +1,22 @@
+package com.blackcode.user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class UserPageRes {
+
+    private List<UserRes> content;
+
+    private int size;
+
+    private String nextCursor;
+
+}
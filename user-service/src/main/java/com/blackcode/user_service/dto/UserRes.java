@@ -1,6 +1,7 @@
 package com.blackcode.user_service.dto;
 
-
+import com.blackcode.user_service.helper.UserProjection;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -10,6 +11,7 @@ import lombok.Setter;
 @NoArgsConstructor
 @Getter
 @Setter
+@JsonFilter(UserProjection.FILTER_ID)
 public class UserRes {
 
     private String userId;
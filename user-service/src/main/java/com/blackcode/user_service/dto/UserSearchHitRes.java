@@ -0,0 +1,22 @@
+package com.blackcode.user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class UserSearchHitRes {
+
+    private String userId;
+
+    private String nama;
+
+    private String email;
+
+    private int score;
+
+}
@@ -0,0 +1,24 @@
+package com.blackcode.user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class UserSearchPageRes {
+
+    private List<UserSearchHitRes> content;
+
+    private int page;
+
+    private int size;
+
+    private long totalHits;
+
+}
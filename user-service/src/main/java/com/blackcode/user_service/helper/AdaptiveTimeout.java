@@ -0,0 +1,114 @@
+package com.blackcode.user_service.helper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Timeout for one downstream dependency derived from its recent latency: the p99 of the last
+ * {@code sampleSize} calls within {@code window}, times {@code multiplier}, clamped to
+ * [{@code minMs}, {@code maxMs}]. Timed-out calls are recorded at the timeout value, so a slowdown
+ * raises the timeout step by step instead of failing every call until the window rolls over.
+ */
+public class AdaptiveTimeout {
+
+    private static final long RECOMPUTE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final double multiplier;
+
+    private final long minMs;
+
+    private final long maxMs;
+
+    private final int minSamples;
+
+    private final long windowNanos;
+
+    private final long[] latencies;
+
+    private final long[] recordedAt;
+
+    private int next;
+
+    private int filled;
+
+    private final AtomicBoolean recomputing = new AtomicBoolean();
+
+    private volatile long computedAt;
+
+    // Starts at the upper bound until enough samples exist to trust a percentile
+    private volatile long currentMs;
+
+    private final Counter timeouts;
+
+    public AdaptiveTimeout(String dependency, String operation, double multiplier, long minMs, long maxMs, int sampleSize,
+                           int minSamples, Duration window, MeterRegistry meterRegistry) {
+        this.multiplier = multiplier;
+        this.minMs = minMs;
+        this.maxMs = maxMs;
+        this.minSamples = minSamples;
+        this.windowNanos = window.toNanos();
+        this.latencies = new long[sampleSize];
+        this.recordedAt = new long[sampleSize];
+        this.currentMs = maxMs;
+        this.computedAt = System.nanoTime();
+        this.timeouts = Counter.builder("client.timeouts")
+                .tag("dependency", dependency)
+                .tag("operation", operation)
+                .register(meterRegistry);
+        TimeGauge.builder("client.timeout.effective", this, TimeUnit.MILLISECONDS, AdaptiveTimeout::currentMillis)
+                .tag("dependency", dependency)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    public Duration current() {
+        long now = System.nanoTime();
+        if (now - computedAt >= RECOMPUTE_INTERVAL_NANOS && recomputing.compareAndSet(false, true)) {
+            try {
+                currentMs = compute(now);
+                computedAt = now;
+            } finally {
+                recomputing.set(false);
+            }
+        }
+        return Duration.ofMillis(currentMs);
+    }
+
+    public synchronized void record(long latencyNanos) {
+        latencies[next] = latencyNanos;
+        recordedAt[next] = System.nanoTime();
+        next = (next + 1) % latencies.length;
+        if (filled < latencies.length) filled++;
+    }
+
+    public void timedOut(Duration timeout) {
+        timeouts.increment();
+        record(timeout.toNanos());
+    }
+
+    private long compute(long now) {
+        long[] window;
+        int count = 0;
+        synchronized (this) {
+            window = new long[filled];
+            for (int i = 0; i < filled; i++) {
+                if (now - recordedAt[i] <= windowNanos) window[count++] = latencies[i];
+            }
+        }
+        if (count < minSamples) return maxMs;
+        Arrays.sort(window, 0, count);
+        long p99Nanos = window[Math.min(count - 1, (int) Math.ceil(count * 0.99) - 1)];
+        long timeoutMs = (long) Math.ceil(TimeUnit.NANOSECONDS.toMillis(p99Nanos) * multiplier);
+        return Math.max(minMs, Math.min(maxMs, timeoutMs));
+    }
+
+    private double currentMillis() {
+        return currentMs;
+    }
+}
@@ -0,0 +1,95 @@
+package com.blackcode.user_service.helper;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Position of the local read model in one upstream change feed.
+ * Only the polling thread mutates it; readers see the volatile fields.
+ */
+public class ChangeFeedState {
+
+    private final String name;
+
+    private final long startedAt = System.currentTimeMillis();
+
+    // -1 until the first full resync has completed
+    private volatile long appliedVersion = -1;
+
+    private volatile long latestVersion;
+
+    private volatile long caughtUpAt;
+
+    // Versions up to here are replays after a resync and may arrive with holes
+    private long replayUntil;
+
+    private long gapDetectedAt;
+
+    public ChangeFeedState(String name, MeterRegistry meterRegistry) {
+        this.name = name;
+        Gauge.builder("user.readmodel.lag.seconds", this, ChangeFeedState::lagSeconds)
+                .tag("relation", name)
+                .description("Time since the read model last matched the upstream change feed")
+                .register(meterRegistry);
+        Gauge.builder("user.readmodel.version.lag", this, state -> Math.max(0, state.latestVersion - state.appliedVersion))
+                .tag("relation", name)
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return appliedVersion >= 0;
+    }
+
+    public void resynced(long snapshotVersion, long replayFrom) {
+        appliedVersion = replayFrom;
+        replayUntil = snapshotVersion;
+        latestVersion = Math.max(latestVersion, snapshotVersion);
+        gapDetectedAt = 0;
+    }
+
+    // A version is next in line if it directly follows the previous one or falls in the post-resync replay range
+    public boolean follows(long version, long previous) {
+        return version == previous + 1 || (version > previous && version <= replayUntil);
+    }
+
+    public void applied(long version) {
+        appliedVersion = version;
+    }
+
+    public void gapDetected() {
+        if (gapDetectedAt == 0) gapDetectedAt = System.currentTimeMillis();
+    }
+
+    public void gapResolved() {
+        gapDetectedAt = 0;
+    }
+
+    public boolean gapOlderThan(long graceMs) {
+        return gapDetectedAt != 0 && System.currentTimeMillis() - gapDetectedAt >= graceMs;
+    }
+
+    public void caughtUp() {
+        caughtUpAt = System.currentTimeMillis();
+    }
+
+    public double lagSeconds() {
+        long since = caughtUpAt != 0 ? caughtUpAt : startedAt;
+        return (System.currentTimeMillis() - since) / 1000.0;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getAppliedVersion() {
+        return appliedVersion;
+    }
+
+    public long getLatestVersion() {
+        return latestVersion;
+    }
+
+    public void setLatestVersion(long latestVersion) {
+        this.latestVersion = latestVersion;
+    }
+}
@@ -0,0 +1,55 @@
+package com.blackcode.user_service.helper;
+
+import java.util.Arrays;
+
+/**
+ * Growable, ascending list of document ids backed by a plain int array.
+ * Ids are only ever appended in increasing order, so the list stays sorted without extra work.
+ */
+public class IntPostingList {
+
+    private int[] docs;
+
+    private int size;
+
+    public IntPostingList() {
+        this.docs = new int[4];
+    }
+
+    public void add(int doc) {
+        if (size > 0 && docs[size - 1] == doc) return;
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size + (size >> 1) + 1);
+        }
+        docs[size++] = doc;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int get(int index) {
+        return docs[index];
+    }
+
+    // Galloping search from a lower bound, cheap when probing a long list with ascending ids
+    public int advance(int from, int doc) {
+        if (from >= size || docs[from] >= doc) return from;
+        int step = 1;
+        int low = from;
+        int high = from;
+        while (high < size && docs[high] < doc) {
+            low = high;
+            high += step;
+            step <<= 1;
+        }
+        int index = Arrays.binarySearch(docs, low, Math.min(high + 1, size), doc);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    public void trimToSize() {
+        if (docs.length != size) {
+            docs = Arrays.copyOf(docs, size);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.blackcode.user_service.helper;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Size-bounded, TTL-based in-process cache for reference data fetched from other services.
+ * Concurrent misses for the same key share one in-flight load. Empty results and values rejected
+ * by {@code cacheable} are not kept, so a fallback never pins a missing or stale value until expiry.
+ */
+public class NearCache<K, V> {
+
+    private final String name;
+
+    private final AsyncCache<K, V> cache;
+
+    private final Predicate<V> cacheable;
+
+    public NearCache(String name, long maximumSize, Duration ttl, Predicate<V> cacheable, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.cacheable = cacheable;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
+    public Mono<V> get(K key, Function<K, Mono<V>> loader) {
+        if (key == null) return Mono.empty();
+        CompletableFuture<V> future = cache.get(key, (k, executor) -> loader.apply(k).toFuture());
+        future.thenAccept(value -> {
+            if (value != null && !cacheable.test(value)) cache.asMap().remove(key, future);
+        });
+        // Cancelling one waiter must not cancel the load shared with other waiters
+        return Mono.fromFuture(future, true);
+    }
+
+    public Mono<Map<K, V>> getAll(Collection<K> keys, Function<Set<? extends K>, Mono<Map<K, V>>> loader) {
+        if (keys.isEmpty()) return Mono.just(new HashMap<>());
+        CompletableFuture<Map<K, V>> future = cache.getAll(keys, (missing, executor) ->
+                loader.apply(missing).defaultIfEmpty(new HashMap<>()).toFuture());
+        future.thenAccept(values -> values.forEach((key, value) -> {
+            if (!cacheable.test(value)) cache.synchronous().invalidate(key);
+        }));
+        return Mono.fromFuture(future, true);
+    }
+
+    public void invalidate(K key) {
+        cache.synchronous().invalidate(key);
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+}
@@ -0,0 +1,43 @@
+package com.blackcode.user_service.helper;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline of the request being served, taken from the budget header set by the gateway.
+ * Blocking code reads it from the request thread; reactive chains carry it in their context,
+ * since they may call other services from a different thread.
+ */
+public class RequestDeadline {
+
+    // Remaining milliseconds rather than an absolute time, so hops do not depend on synchronized clocks
+    public static final String HEADER = "X-Request-Budget-Ms";
+
+    private static final String CONTEXT_KEY = RequestDeadline.class.getName();
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    public static void start(long budgetMs) {
+        CURRENT.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMs));
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    // Snapshot of the current thread's deadline for contextWrite, taken while still on the request thread
+    public static Context capture() {
+        Long deadline = CURRENT.get();
+        return deadline != null ? Context.of(CONTEXT_KEY, deadline) : Context.empty();
+    }
+
+    public static Long current(ContextView context) {
+        return context.hasKey(CONTEXT_KEY) ? context.get(CONTEXT_KEY) : CURRENT.get();
+    }
+
+    public static long remainingMs(long deadline) {
+        return TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+    }
+}
@@ -0,0 +1,93 @@
+package com.blackcode.user_service.helper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Last-known-good copies of another service's data, served by circuit breaker fallbacks
+ * when a live lookup fails. Entries are bounded by count and age, so an outage that outlasts
+ * {@code maxAge} degrades to returning nothing, as before.
+ */
+public class StaleStore<K, V> {
+
+    private final Cache<K, Entry<V>> entries;
+
+    // Keys with a background refresh started within the last minRefreshInterval
+    private final Cache<K, Boolean> recentRefreshes;
+
+    private final Counter served;
+
+    private final Counter missed;
+
+    public StaleStore(String name, long maximumSize, Duration maxAge, Duration minRefreshInterval, MeterRegistry meterRegistry) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(maxAge)
+                .build();
+        this.recentRefreshes = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(minRefreshInterval)
+                .build();
+        this.served = Counter.builder("client.stale.served").tag("dependency", name).register(meterRegistry);
+        this.missed = Counter.builder("client.stale.missed").tag("dependency", name).register(meterRegistry);
+        Gauge.builder("client.stale.size", entries, Cache::estimatedSize).tag("dependency", name).register(meterRegistry);
+    }
+
+    public void put(K key, V value) {
+        if (key == null || value == null) return;
+        entries.put(key, new Entry<>(value, System.currentTimeMillis()));
+    }
+
+    public void putAll(Map<K, V> values) {
+        values.forEach(this::put);
+    }
+
+    // The dependency answered that the key no longer exists
+    public void invalidate(K key) {
+        if (key != null) entries.invalidate(key);
+    }
+
+    public Stale<V> get(K key) {
+        Entry<V> entry = key != null ? entries.getIfPresent(key) : null;
+        if (entry == null) {
+            missed.increment();
+            return null;
+        }
+        served.increment();
+        return new Stale<>(entry.value, System.currentTimeMillis() - entry.storedAt);
+    }
+
+    // At most one background refresh per key and interval, however many fallbacks served it
+    public boolean tryStartRefresh(K key) {
+        return recentRefreshes.asMap().putIfAbsent(key, Boolean.TRUE) == null;
+    }
+
+    private record Entry<V>(V value, long storedAt) {
+    }
+
+    public static class Stale<V> {
+
+        private final V value;
+
+        private final long ageMs;
+
+        public Stale(V value, long ageMs) {
+            this.value = value;
+            this.ageMs = ageMs;
+        }
+
+        public V getValue() {
+            return value;
+        }
+
+        public long getAgeMs() {
+            return ageMs;
+        }
+    }
+}
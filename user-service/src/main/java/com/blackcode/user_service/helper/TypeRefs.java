@@ -1,10 +1,14 @@
 package com.blackcode.user_service.helper;
 
 import com.blackcode.user_service.dto.AddressDto;
+import com.blackcode.user_service.dto.ChangeFeedDto;
 import com.blackcode.user_service.dto.DepartmentDto;
+import com.blackcode.user_service.dto.SnapshotDto;
 import com.blackcode.user_service.utils.ApiResponse;
 import org.springframework.core.ParameterizedTypeReference;
 
+import java.util.List;
+
 public class TypeRefs {
     public static ParameterizedTypeReference<ApiResponse<DepartmentDto>> departmentDtoResponse() {
         return new ParameterizedTypeReference<>() {};
@@ -13,4 +17,28 @@ public class TypeRefs {
     public static ParameterizedTypeReference<ApiResponse<AddressDto>> addressDtoResponse() {
         return new ParameterizedTypeReference<>() {};
     }
+
+    public static ParameterizedTypeReference<ApiResponse<List<DepartmentDto>>> departmentDtoListResponse() {
+        return new ParameterizedTypeReference<>() {};
+    }
+
+    public static ParameterizedTypeReference<ApiResponse<List<AddressDto>>> addressDtoListResponse() {
+        return new ParameterizedTypeReference<>() {};
+    }
+
+    public static ParameterizedTypeReference<ApiResponse<ChangeFeedDto<DepartmentDto>>> departmentChangeFeedResponse() {
+        return new ParameterizedTypeReference<>() {};
+    }
+
+    public static ParameterizedTypeReference<ApiResponse<ChangeFeedDto<AddressDto>>> addressChangeFeedResponse() {
+        return new ParameterizedTypeReference<>() {};
+    }
+
+    public static ParameterizedTypeReference<ApiResponse<SnapshotDto<DepartmentDto>>> departmentSnapshotResponse() {
+        return new ParameterizedTypeReference<>() {};
+    }
+
+    public static ParameterizedTypeReference<ApiResponse<SnapshotDto<AddressDto>>> addressSnapshotResponse() {
+        return new ParameterizedTypeReference<>() {};
+    }
 }
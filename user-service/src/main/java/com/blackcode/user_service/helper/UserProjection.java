@@ -0,0 +1,89 @@
+package com.blackcode.user_service.helper;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.*;
+
+/**
+ * Properties of {@code UserRes} a caller asked for through {@code fields=} or {@code expand=}.
+ * Relations that are not requested are neither fetched from their service nor serialized.
+ */
+public class UserProjection {
+
+    public static final String FILTER_ID = "userResFilter";
+
+    public static final String DEPARTMENT = "department";
+
+    public static final String ADDRESS = "address";
+
+    private static final List<String> BASE_FIELDS = List.of("userId", "nama", "email");
+
+    private static final List<String> RELATIONS = List.of(DEPARTMENT, ADDRESS);
+
+    private static final UserProjection FULL = new UserProjection(null);
+
+    // null means every property, which keeps the response unchanged for callers that pass nothing
+    private final Set<String> fields;
+
+    private UserProjection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    public static UserProjection full() {
+        return FULL;
+    }
+
+    // fields lists the exact properties to return, expand adds relations on top of the base fields
+    public static UserProjection of(String fields, String expand) {
+        boolean hasFields = fields != null && !fields.isBlank();
+        boolean hasExpand = expand != null && !expand.isBlank();
+        if (!hasFields && !hasExpand) return FULL;
+
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("userId");
+        if (hasFields) {
+            for (String field : split(fields)) {
+                if (!BASE_FIELDS.contains(field) && !RELATIONS.contains(field)) {
+                    throw new IllegalArgumentException("Unknown field: " + field);
+                }
+                selected.add(field);
+            }
+        } else {
+            selected.addAll(BASE_FIELDS);
+        }
+        if (hasExpand) {
+            for (String relation : split(expand)) {
+                if (!RELATIONS.contains(relation)) {
+                    throw new IllegalArgumentException("Unknown relation: " + relation);
+                }
+                selected.add(relation);
+            }
+        }
+        return new UserProjection(Collections.unmodifiableSet(selected));
+    }
+
+    // Distinguishes representations of the same user in ETags, empty for the full representation
+    public String key() {
+        return fields == null ? "" : String.join("+", fields);
+    }
+
+    public boolean includes(String property) {
+        return fields == null || fields.contains(property);
+    }
+
+    public FilterProvider filterProvider() {
+        SimpleBeanPropertyFilter filter = fields == null
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(fields);
+        return new SimpleFilterProvider().addFilter(FILTER_ID, filter);
+    }
+
+    private static List<String> split(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(part -> !part.isEmpty())
+                .toList();
+    }
+}
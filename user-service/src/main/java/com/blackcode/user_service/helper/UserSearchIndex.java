@@ -0,0 +1,398 @@
+package com.blackcode.user_service.helper;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over user name and email.
+ * Every token contributes its trigrams plus one- and two-character prefix grams, so short
+ * type-ahead input matches token prefixes and longer input matches anywhere in a token.
+ * Updates never rewrite posting lists: a changed user gets a new document id, the old one is
+ * marked dead, and the index compacts itself once dead documents pile up.
+ */
+public class UserSearchIndex {
+
+    private static final char PREFIX_MARK = '\u0001';
+
+    // Prefix grams of name tokens only, they tell whether a document can reach the name token tier
+    private static final char NAME_PREFIX_MARK = '\u0002';
+
+    private static final int COMPACT_MIN_DEAD = 10_000;
+
+    private static final int HEAD_CHARS = 4;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, IntPostingList> postings = new HashMap<>();
+
+    private Map<String, Integer> docByUserId = new HashMap<>();
+
+    private String[] userIds = new String[1024];
+
+    private String[] namas = new String[1024];
+
+    private String[] emails = new String[1024];
+
+    // Name length and the case-folded first four characters of name and email, so most candidates
+    // of a broad query are ranked out without touching their strings
+    private int[] nameLengths = new int[1024];
+
+    private long[] nameHeads = new long[1024];
+
+    private long[] emailHeads = new long[1024];
+
+    private BitSet live = new BitSet();
+
+    private int nextDoc;
+
+    // Users removed while the startup build runs; the build may still hold their old rows
+    private Set<String> buildTombstones;
+
+    public void upsert(String userId, String nama, String email) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = docByUserId.remove(userId);
+            if (previous != null) {
+                kill(previous);
+            }
+            addDocument(userId, nama, email);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void startBuild() {
+        lock.writeLock().lock();
+        try {
+            buildTombstones = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void finishBuild() {
+        lock.writeLock().lock();
+        try {
+            buildTombstones = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Used by the startup build so a row read before a concurrent write or delete cannot overwrite it
+    public boolean addIfAbsent(String userId, String nama, String email) {
+        lock.writeLock().lock();
+        try {
+            if (docByUserId.containsKey(userId)) return false;
+            if (buildTombstones != null && buildTombstones.contains(userId)) return false;
+            addDocument(userId, nama, email);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String userId) {
+        lock.writeLock().lock();
+        try {
+            if (buildTombstones != null) buildTombstones.add(userId);
+            Integer previous = docByUserId.remove(userId);
+            if (previous != null) {
+                kill(previous);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByUserId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every match is counted and scored, only the best {@code offset + limit} are kept,
+     * so memory stays bounded by the result window however broad the prefix is.
+     */
+    public SearchResult search(String query, int offset, int limit) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) return new SearchResult(0, List.of());
+        Set<String> queryGrams = new LinkedHashSet<>();
+        for (String token : queryTokens) {
+            addQueryGrams(token, queryGrams);
+        }
+        String normalizedQuery = String.join(" ", queryTokens);
+        String firstToken = queryTokens.get(0);
+        long queryHead = head(normalizedQuery);
+        long headMask = -1L << 16 * (HEAD_CHARS - Math.min(HEAD_CHARS, normalizedQuery.length()));
+
+        lock.readLock().lock();
+        try {
+            List<IntPostingList> lists = new ArrayList<>(queryGrams.size());
+            for (String gram : queryGrams) {
+                IntPostingList list = postings.get(gram);
+                if (list == null) return new SearchResult(0, List.of());
+                lists.add(list);
+            }
+            // Drive the intersection from the rarest gram
+            lists.sort(Comparator.comparingInt(IntPostingList::size));
+
+            int window = offset + limit;
+            PriorityQueue<Hit> top = new PriorityQueue<>(Math.max(1, window), Hit.RANK.reversed());
+            int totalHits = 0;
+            int[] cursors = new int[lists.size()];
+            IntPostingList driver = lists.get(0);
+            IntPostingList namePrefix = postings.get(NAME_PREFIX_MARK + firstToken.substring(0, Math.min(3, firstToken.length())));
+            int nameCursor = 0;
+            // The weakest hit of a full window, kept in locals because every candidate is compared with it
+            int weakestScore = 0;
+            int weakestLength = 0;
+            String weakestUserId = null;
+
+            candidates:
+            for (int i = 0; i < driver.size(); i++) {
+                int doc = driver.get(i);
+                if (!live.get(doc)) continue;
+                for (int l = 1; l < lists.size(); l++) {
+                    IntPostingList list = lists.get(l);
+                    cursors[l] = list.advance(cursors[l], doc);
+                    if (cursors[l] >= list.size()) break candidates;
+                    if (list.get(cursors[l]) != doc) continue candidates;
+                }
+                totalHits++;
+                if (window == 0) continue;
+                // Once the window is full only a score that can displace its weakest hit is worth computing
+                int floor = 0;
+                if (weakestUserId != null) {
+                    boolean winsTie = nameLengths[doc] != weakestLength
+                            ? nameLengths[doc] < weakestLength
+                            : userIds[doc].compareTo(weakestUserId) < 0;
+                    floor = winsTie ? weakestScore : weakestScore + 1;
+                }
+
+                // Tiers are checked from the best down, each behind a check that needs no string
+                int score = -1;
+                if (floor <= 100 && (nameHeads[doc] & headMask) == queryHead
+                        && startsWithAt(namas[doc], 0, normalizedQuery)) {
+                    score = 100;
+                } else if (floor <= 80 && (emailHeads[doc] & headMask) == queryHead
+                        && startsWithAt(emails[doc], 0, normalizedQuery)) {
+                    score = 80;
+                } else if (floor <= 60 && namePrefix != null
+                        && (nameCursor = namePrefix.advance(nameCursor, doc)) < namePrefix.size()
+                        && namePrefix.get(nameCursor) == doc && tokenStartsWith(namas[doc], firstToken)) {
+                    score = 60;
+                } else if (floor <= 40 && tokenStartsWith(emails[doc], firstToken)) {
+                    score = 40;
+                } else if (floor <= 10) {
+                    score = 10;
+                }
+                if (score < 0) continue;
+                if (top.size() == window) top.poll();
+                top.add(new Hit(userIds[doc], namas[doc], emails[doc], score));
+                if (top.size() == window) {
+                    Hit weakest = top.peek();
+                    weakestScore = weakest.score;
+                    weakestLength = weakest.nama != null ? weakest.nama.length() : Integer.MAX_VALUE;
+                    weakestUserId = weakest.userId;
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(top);
+            ranked.sort(Hit.RANK);
+            List<Hit> page = offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size());
+            return new SearchResult(totalHits, page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addDocument(String userId, String nama, String email) {
+        int doc = nextDoc++;
+        if (doc == userIds.length) {
+            int capacity = userIds.length + (userIds.length >> 1);
+            userIds = Arrays.copyOf(userIds, capacity);
+            namas = Arrays.copyOf(namas, capacity);
+            emails = Arrays.copyOf(emails, capacity);
+            nameLengths = Arrays.copyOf(nameLengths, capacity);
+            nameHeads = Arrays.copyOf(nameHeads, capacity);
+            emailHeads = Arrays.copyOf(emailHeads, capacity);
+        }
+        userIds[doc] = userId;
+        namas[doc] = nama;
+        emails[doc] = email;
+        nameLengths[doc] = nama != null ? nama.length() : Integer.MAX_VALUE;
+        nameHeads[doc] = head(nama);
+        emailHeads[doc] = head(email);
+        live.set(doc);
+        docByUserId.put(userId, doc);
+
+        Set<String> grams = new HashSet<>();
+        for (String token : tokenize(nama)) {
+            addGrams(token, grams);
+            for (int length = 1; length <= Math.min(3, token.length()); length++) {
+                grams.add(NAME_PREFIX_MARK + token.substring(0, length));
+            }
+        }
+        for (String token : tokenize(email)) addGrams(token, grams);
+        for (String gram : grams) {
+            postings.computeIfAbsent(gram, g -> new IntPostingList()).add(doc);
+        }
+    }
+
+    private void kill(int doc) {
+        live.clear(doc);
+        namas[doc] = null;
+        emails[doc] = null;
+        userIds[doc] = null;
+    }
+
+    // Rebuilds from live documents once more than half of all ids are dead
+    private void compactIfNeeded() {
+        int dead = nextDoc - docByUserId.size();
+        if (dead < COMPACT_MIN_DEAD || dead < docByUserId.size()) return;
+
+        String[] oldUserIds = userIds;
+        String[] oldNamas = namas;
+        String[] oldEmails = emails;
+        BitSet oldLive = live;
+        int oldNextDoc = nextDoc;
+
+        postings = new HashMap<>();
+        docByUserId = new HashMap<>();
+        int capacity = Math.max(1024, oldNextDoc - dead);
+        userIds = new String[capacity];
+        namas = new String[capacity];
+        emails = new String[capacity];
+        nameLengths = new int[capacity];
+        nameHeads = new long[capacity];
+        emailHeads = new long[capacity];
+        live = new BitSet();
+        nextDoc = 0;
+        for (int doc = oldLive.nextSetBit(0); doc >= 0 && doc < oldNextDoc; doc = oldLive.nextSetBit(doc + 1)) {
+            addDocument(oldUserIds[doc], oldNamas[doc], oldEmails[doc]);
+        }
+        postings.values().forEach(IntPostingList::trimToSize);
+    }
+
+    // Leading characters folded the way regionMatches ignores case, missing ones are zero
+    private static long head(String text) {
+        long head = 0;
+        for (int i = 0; i < HEAD_CHARS; i++) {
+            head = head << 16 | (text != null && i < text.length() ? fold(text.charAt(i)) : 0);
+        }
+        return head;
+    }
+
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static boolean tokenStartsWith(String text, String prefix) {
+        if (text == null) return false;
+        char first = prefix.charAt(0);
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.toLowerCase(text.charAt(i)) != first) continue;
+            if (i > 0 && Character.isLetterOrDigit(text.charAt(i - 1))) continue;
+            if (startsWithAt(text, i, prefix)) return true;
+        }
+        return false;
+    }
+
+    private static boolean startsWithAt(String text, int from, String prefix) {
+        return text != null && text.regionMatches(true, from, prefix, 0, prefix.length());
+    }
+
+    // Short tokens can only be matched as token prefixes, longer ones match anywhere through their trigrams
+    private static void addQueryGrams(String token, Set<String> grams) {
+        if (token.length() < 3) {
+            grams.add(PREFIX_MARK + token);
+            return;
+        }
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            grams.add(token.substring(i, i + 3));
+        }
+    }
+
+    private static void addGrams(String token, Set<String> grams) {
+        grams.add(PREFIX_MARK + token.substring(0, 1));
+        if (token.length() >= 2) grams.add(PREFIX_MARK + token.substring(0, 2));
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            grams.add(token.substring(i, i + 3));
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    public static class SearchResult {
+
+        private final int totalHits;
+
+        private final List<Hit> hits;
+
+        public SearchResult(int totalHits, List<Hit> hits) {
+            this.totalHits = totalHits;
+            this.hits = hits;
+        }
+
+        public int getTotalHits() {
+            return totalHits;
+        }
+
+        public List<Hit> getHits() {
+            return hits;
+        }
+    }
+
+    public static class Hit {
+
+        // Best score first, then shorter names, then user id for a stable order across pages
+        static final Comparator<Hit> RANK = Comparator.comparingInt(Hit::getScore).reversed()
+                .thenComparingInt(hit -> hit.getNama() != null ? hit.getNama().length() : Integer.MAX_VALUE)
+                .thenComparing(Hit::getUserId);
+
+        private final String userId;
+
+        private final String nama;
+
+        private final String email;
+
+        private final int score;
+
+        public Hit(String userId, String nama, String email, int score) {
+            this.userId = userId;
+            this.nama = nama;
+            this.email = email;
+            this.score = score;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public String getNama() {
+            return nama;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public int getScore() {
+            return score;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.blackcode.user_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Local copy of the address fields shown on users, fed by the address-service change feed
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "tb_address_view")
+public class AddressView {
+
+    @Id
+    private Long addressId;
+
+    private String street;
+
+    private String city;
+
+    private String province;
+
+    // Change feed version that last wrote this row, part of the user ETag
+    private Long changeVersion;
+
+}
@@ -0,0 +1,27 @@
+package com.blackcode.user_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Local copy of the department fields shown on users, fed by the department-service change feed
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "tb_department_view")
+public class DepartmentView {
+
+    @Id
+    private Long departmentId;
+
+    private String departmentName;
+
+    private String departmentCode;
+
+    private String departmentDescription;
+
+    // Change feed version that last wrote this row, part of the user ETag
+    private Long changeVersion;
+
+}
@@ -0,0 +1,17 @@
+package com.blackcode.user_service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// One row of the local user/department/address join; either relation is null when not in the read model
+@AllArgsConstructor
+@Getter
+public class EnrichedUser {
+
+    private User user;
+
+    private DepartmentView department;
+
+    private AddressView address;
+
+}
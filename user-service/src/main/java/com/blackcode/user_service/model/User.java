@@ -22,4 +22,9 @@ public class User {
 
     private Long addressId;
 
+    // Existing rows start at 0 when the column is added
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
 }
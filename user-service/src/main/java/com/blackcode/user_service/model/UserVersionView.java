@@ -0,0 +1,12 @@
+package com.blackcode.user_service.model;
+
+// Versions that together identify one rendering of an enriched user, read without loading entities
+public interface UserVersionView {
+
+    Long getUserVersion();
+
+    Long getDepartmentVersion();
+
+    Long getAddressVersion();
+
+}
@@ -0,0 +1,9 @@
+package com.blackcode.user_service.repository;
+
+import com.blackcode.user_service.model.AddressView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AddressViewRepository extends JpaRepository<AddressView, Long> {
+}
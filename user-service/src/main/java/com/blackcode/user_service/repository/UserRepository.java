@@ -1,9 +1,69 @@
 package com.blackcode.user_service.repository;
 
+import com.blackcode.user_service.model.EnrichedUser;
 import com.blackcode.user_service.model.User;
+import com.blackcode.user_service.model.UserVersionView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
+
+    List<User> findAllByOrderByUserIdAsc(Limit limit);
+
+    List<User> findByUserIdGreaterThanOrderByUserIdAsc(String userId, Limit limit);
+
+    // Forward-only server-side cursor, must be consumed inside a read-only transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM User u ORDER BY u.userId")
+    Stream<User> streamAllOrderByUserId();
+
+    @Query("SELECT new com.blackcode.user_service.model.EnrichedUser(u, d, a) FROM User u " +
+            "LEFT JOIN DepartmentView d ON d.departmentId = u.departmentId " +
+            "LEFT JOIN AddressView a ON a.addressId = u.addressId " +
+            "WHERE u.userId = :userId")
+    Optional<EnrichedUser> findEnrichedById(@Param("userId") String userId);
+
+    @Query("SELECT new com.blackcode.user_service.model.EnrichedUser(u, d, a) FROM User u " +
+            "LEFT JOIN DepartmentView d ON d.departmentId = u.departmentId " +
+            "LEFT JOIN AddressView a ON a.addressId = u.addressId " +
+            "WHERE u.userId IN :userIds")
+    List<EnrichedUser> findEnrichedByIds(@Param("userIds") Collection<String> userIds);
+
+    @Query("SELECT new com.blackcode.user_service.model.EnrichedUser(u, d, a) FROM User u " +
+            "LEFT JOIN DepartmentView d ON d.departmentId = u.departmentId " +
+            "LEFT JOIN AddressView a ON a.addressId = u.addressId " +
+            "ORDER BY u.userId")
+    List<EnrichedUser> findEnrichedPage(Limit limit);
+
+    @Query("SELECT new com.blackcode.user_service.model.EnrichedUser(u, d, a) FROM User u " +
+            "LEFT JOIN DepartmentView d ON d.departmentId = u.departmentId " +
+            "LEFT JOIN AddressView a ON a.addressId = u.addressId " +
+            "WHERE u.userId > :afterUserId ORDER BY u.userId")
+    List<EnrichedUser> findEnrichedPageAfter(@Param("afterUserId") String afterUserId, Limit limit);
+
+    @Query("SELECT u.userId FROM User u WHERE u.userId IN :userIds")
+    List<String> findExistingUserIds(@Param("userIds") Collection<String> userIds);
+
+    @Query("SELECT u.version AS userVersion, d.changeVersion AS departmentVersion, a.changeVersion AS addressVersion " +
+            "FROM User u " +
+            "LEFT JOIN DepartmentView d ON d.departmentId = u.departmentId " +
+            "LEFT JOIN AddressView a ON a.addressId = u.addressId " +
+            "WHERE u.userId = :userId")
+    Optional<UserVersionView> findVersionsById(@Param("userId") String userId);
+
 }
@@ -1,9 +1,21 @@
 package com.blackcode.user_service.service;
 
 import com.blackcode.user_service.dto.AddressDto;
-import com.blackcode.user_service.dto.DepartmentDto;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
 
 public interface AddressClientService {
 
     AddressDto getAddressById(Long addressId);
+
+    Mono<AddressDto> getAddressByIdAsync(Long addressId);
+
+    Map<Long, AddressDto> getAddressByIds(Collection<Long> addressIds);
+
+    // No stale fallback: a failed lookup throws, so a missing id really does not exist
+    Map<Long, AddressDto> getAddressByIdsStrict(Collection<Long> addressIds);
+
+    Mono<Map<Long, AddressDto>> getAddressByIdsAsync(Collection<Long> addressIds);
 }
@@ -1,7 +1,20 @@
 package com.blackcode.user_service.service;
 
 import com.blackcode.user_service.dto.DepartmentDto;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
 
 public interface DepartmentClientService {
     DepartmentDto getDepartmentById(Long departmentId);
+
+    Mono<DepartmentDto> getDepartmentByIdAsync(Long departmentId);
+
+    Map<Long, DepartmentDto> getDepartmentByIds(Collection<Long> departmentIds);
+
+    // No stale fallback: a failed lookup throws, so a missing id really does not exist
+    Map<Long, DepartmentDto> getDepartmentByIdsStrict(Collection<Long> departmentIds);
+
+    Mono<Map<Long, DepartmentDto>> getDepartmentByIdsAsync(Collection<Long> departmentIds);
 }
@@ -0,0 +1,9 @@
+package com.blackcode.user_service.service;
+
+public interface ReadModelService {
+
+    boolean isReady();
+
+    void sync();
+
+}
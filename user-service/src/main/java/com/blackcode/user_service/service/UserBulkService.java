@@ -0,0 +1,12 @@
+package com.blackcode.user_service.service;
+
+import com.blackcode.user_service.dto.BulkUpsertRes;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface UserBulkService {
+
+    BulkUpsertRes bulkUpsertUsers(InputStream inputStream) throws IOException;
+
+}
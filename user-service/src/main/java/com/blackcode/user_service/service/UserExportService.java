@@ -0,0 +1,10 @@
+package com.blackcode.user_service.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface UserExportService {
+
+    void exportUsers(String format, OutputStream outputStream) throws IOException;
+
+}
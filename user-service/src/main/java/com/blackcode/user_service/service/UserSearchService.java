@@ -0,0 +1,14 @@
+package com.blackcode.user_service.service;
+
+import com.blackcode.user_service.dto.UserSearchPageRes;
+import com.blackcode.user_service.model.User;
+
+public interface UserSearchService {
+
+    UserSearchPageRes searchUsers(String query, int page, int size);
+
+    void index(User user);
+
+    void remove(String userId);
+
+}
@@ -1,21 +1,29 @@
 package com.blackcode.user_service.service;
 
+import com.blackcode.user_service.dto.UserPageRes;
 import com.blackcode.user_service.dto.UserReq;
 import com.blackcode.user_service.dto.UserRes;
 import com.blackcode.user_service.dto.UserResSyn;
+import com.blackcode.user_service.helper.UserProjection;
+import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
 public interface UserService {
 
-    List<UserRes> getAllUser();
+    Mono<UserPageRes> getAllUser(String cursor, int size, UserProjection projection);
 
-    UserRes getUserById(String userId);
+    Mono<UserRes> getUserById(String userId, UserProjection projection);
+
+    Mono<List<UserRes>> getUserByIds(Collection<String> userIds, UserProjection projection);
+
+    Mono<String> getUserEtag(String userId, UserProjection projection);
 
     UserResSyn addUser(UserReq userReq);
 
-    UserRes updateUser(String userId, UserReq userReq);
+    UserRes updateUser(String userId, UserReq userReq, UserProjection projection);
 
     Map<String, Object> deleteUser(String userId);
 
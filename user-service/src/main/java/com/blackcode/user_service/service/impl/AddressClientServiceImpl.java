@@ -3,10 +3,16 @@ package com.blackcode.user_service.service.impl;
 import com.blackcode.user_service.dto.AddressDto;
 import com.blackcode.user_service.dto.DepartmentDto;
 import com.blackcode.user_service.exception.DataNotFoundException;
+import com.blackcode.user_service.helper.StaleStore;
 import com.blackcode.user_service.helper.TypeRefs;
 import com.blackcode.user_service.service.AddressClientService;
 import com.blackcode.user_service.utils.ApiResponse;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import io.github.resilience4j.retry.annotation.Retry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,9 +21,12 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.Duration;
+import java.util.*;
 
 @Service
 public class AddressClientServiceImpl implements AddressClientService {
@@ -26,10 +35,26 @@ public class AddressClientServiceImpl implements AddressClientService {
 
     private static final String ADDRESS_API_PATH = "/api/address/getAddressById/";
 
+    private static final String ADDRESS_BATCH_API_PATH = "/api/address/getAddressByIds";
+
+    private static final int BATCH_CHUNK_SIZE = 500;
+
     private final WebClient addressClient;
 
-    public AddressClientServiceImpl(@Qualifier("addressClient") WebClient addressClient) {
+    private final Bulkhead addressBulkhead;
+
+    private final StaleStore<Long, AddressDto> addressStaleStore;
+
+    private final CircuitBreakerOperator<Map<Long, AddressDto>> refreshCircuitBreaker;
+
+    public AddressClientServiceImpl(@Qualifier("addressClient") WebClient addressClient,
+                                    @Qualifier("addressStaleStore") StaleStore<Long, AddressDto> addressStaleStore,
+                                    BulkheadRegistry bulkheadRegistry,
+                                    CircuitBreakerRegistry circuitBreakerRegistry) {
         this.addressClient = addressClient;
+        this.addressStaleStore = addressStaleStore;
+        this.addressBulkhead = bulkheadRegistry.bulkhead("addressService");
+        this.refreshCircuitBreaker = CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker("addressService"));
     }
 
     @Override
@@ -38,11 +63,31 @@ public class AddressClientServiceImpl implements AddressClientService {
     public AddressDto getAddressById(Long addressId) {
         if (addressId == null) return null;
 
+        ApiResponse<AddressDto> response = fetchAddress(addressId).block();
+
+        if (response == null) {
+            logger.warn("No response for address ID {}", addressId);
+            return null;
+        }
+        return response.getData();
+    }
+
+    @Override
+    @Retry(name = "addressService")
+    @CircuitBreaker(name = "addressService", fallbackMethod = "fallbackAsync")
+    public Mono<AddressDto> getAddressByIdAsync(Long addressId) {
+        if (addressId == null) return Mono.empty();
+
+        return fetchAddress(addressId)
+                .flatMap(response -> Mono.justOrEmpty(response.getData()));
+    }
+
+    private Mono<ApiResponse<AddressDto>> fetchAddress(Long addressId) {
         String uri = ADDRESS_API_PATH + addressId;
 
         ParameterizedTypeReference<ApiResponse<AddressDto>> typeRef = TypeRefs.addressDtoResponse();
 
-        ApiResponse<AddressDto> response = addressClient.get()
+        return addressClient.get()
                 .uri(uri)
                 .exchangeToMono(clientResponse -> {
                     HttpStatusCode status = clientResponse.statusCode();
@@ -51,24 +96,134 @@ public class AddressClientServiceImpl implements AddressClientService {
                     if (status.isError()) {
                         return clientResponse.bodyToMono(String.class).flatMap(errorBody -> {
                             logger.error("Error response body: {}", errorBody);
-                            return Mono.error(new DataNotFoundException("Address not found"));
+                            return Mono.error(status.value() == 404
+                                    ? new DataNotFoundException("Address not found")
+                                    : new IllegalStateException("Address lookup failed with status " + status.value()));
                         });
                     }
 
                     return clientResponse.bodyToMono(typeRef);
                 })
+                .transformDeferred(BulkheadOperator.of(addressBulkhead))
                 .timeout(Duration.ofSeconds(3))
-                .block();
+                .doOnNext(response -> addressStaleStore.put(addressId, response.getData()));
+    }
 
-        if (response == null) {
-            logger.warn("No response for address ID {}", addressId);
-            return null;
+    @Override
+    @Retry(name = "addressService")
+    @CircuitBreaker(name = "addressService", fallbackMethod = "fallbackBatch")
+    public Map<Long, AddressDto> getAddressByIds(Collection<Long> addressIds) {
+        return fetchAddresses(addressIds).block();
+    }
+
+    @Override
+    @Retry(name = "addressService")
+    @CircuitBreaker(name = "addressService")
+    public Map<Long, AddressDto> getAddressByIdsStrict(Collection<Long> addressIds) {
+        return fetchAddresses(addressIds).block();
+    }
+
+    @Override
+    @Retry(name = "addressService")
+    @CircuitBreaker(name = "addressService", fallbackMethod = "fallbackBatchAsync")
+    public Mono<Map<Long, AddressDto>> getAddressByIdsAsync(Collection<Long> addressIds) {
+        return fetchAddresses(addressIds);
+    }
+
+    private Mono<Map<Long, AddressDto>> fetchAddresses(Collection<Long> addressIds) {
+        List<Long> ids = addressIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) return Mono.just(new HashMap<>());
+
+        ParameterizedTypeReference<ApiResponse<List<AddressDto>>> typeRef = TypeRefs.addressDtoListResponse();
+
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BATCH_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + BATCH_CHUNK_SIZE, ids.size())));
         }
-        return response.getData();
+
+        return Flux.fromIterable(chunks)
+                .concatMap(chunk -> addressClient.post()
+                        .uri(ADDRESS_BATCH_API_PATH)
+                        .bodyValue(chunk)
+                        .exchangeToMono(clientResponse -> {
+                            HttpStatusCode status = clientResponse.statusCode();
+                            logger.info("Response status: {}", status);
+
+                            if (status.isError()) {
+                                return clientResponse.bodyToMono(String.class).flatMap(errorBody -> {
+                                    logger.error("Error response body: {}", errorBody);
+                                    return Mono.error(new IllegalStateException("Address batch lookup failed with status " + status.value()));
+                                });
+                            }
+
+                            return clientResponse.bodyToMono(typeRef);
+                        })
+                        .transformDeferred(BulkheadOperator.of(addressBulkhead))
+                        .timeout(Duration.ofSeconds(3)))
+                .filter(response -> response.getData() != null)
+                .flatMapIterable(ApiResponse::getData)
+                .collectMap(AddressDto::getAddressId, address -> address, HashMap::new)
+                // Ids missing from a successful answer no longer exist and must not be served stale later
+                .doOnNext(found -> ids.forEach(id -> {
+                    if (found.containsKey(id)) addressStaleStore.put(id, found.get(id));
+                    else addressStaleStore.invalidate(id);
+                }));
+    }
+
+    public Map<Long, AddressDto> fallbackBatch(Collection<Long> addressIds, Throwable throwable) {
+        logger.error("Gagal ambil data address untuk {} ID. Error: {}", addressIds.size(), throwable.toString());
+        return staleAddresses(addressIds);
+    }
+
+    public Mono<Map<Long, AddressDto>> fallbackBatchAsync(Collection<Long> addressIds, Throwable throwable) {
+        logger.error("Gagal ambil data address untuk {} ID. Error: {}", addressIds.size(), throwable.toString());
+        return Mono.just(staleAddresses(addressIds));
     }
 
     public AddressDto fallback(Long addressId, Throwable throwable) {
         logger.error("Gagal ambil data address untuk ID {}. Error: {}", addressId, throwable.toString());
-        return null;
+        return staleAddress(addressId, throwable);
+    }
+
+    public Mono<AddressDto> fallbackAsync(Long addressId, Throwable throwable) {
+        logger.error("Gagal ambil data address untuk ID {}. Error: {}", addressId, throwable.toString());
+        return Mono.justOrEmpty(staleAddress(addressId, throwable));
+    }
+
+    private AddressDto staleAddress(Long addressId, Throwable throwable) {
+        if (throwable instanceof DataNotFoundException) {
+            addressStaleStore.invalidate(addressId);
+            return null;
+        }
+        Map<Long, AddressDto> stale = staleAddresses(List.of(addressId));
+        return stale.get(addressId);
+    }
+
+    private Map<Long, AddressDto> staleAddresses(Collection<Long> addressIds) {
+        Map<Long, AddressDto> stale = new HashMap<>();
+        for (Long id : addressIds) {
+            StaleStore.Stale<AddressDto> entry = addressStaleStore.get(id);
+            if (entry != null) stale.put(id, markStale(entry));
+        }
+        refreshInBackground(stale.keySet());
+        return stale;
+    }
+
+    // Goes through the circuit breaker, so an open circuit turns refreshes into cheap rejections
+    private void refreshInBackground(Collection<Long> addressIds) {
+        List<Long> due = addressIds.stream().filter(addressStaleStore::tryStartRefresh).toList();
+        if (due.isEmpty()) return;
+        fetchAddresses(due)
+                .transformDeferred(refreshCircuitBreaker)
+                // Subscribed off the request thread so the caller's spent deadline does not apply
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(refreshed -> logger.info("Refreshed {} stale address entries", refreshed.size()),
+                        e -> logger.debug("Background address refresh failed: {}", e.toString()));
+    }
+
+    private AddressDto markStale(StaleStore.Stale<AddressDto> entry) {
+        AddressDto value = entry.getValue();
+        return new AddressDto(value.getAddressId(), value.getStreet(),
+                value.getCity(), value.getProvince(), entry.getAgeMs());
     }
 }
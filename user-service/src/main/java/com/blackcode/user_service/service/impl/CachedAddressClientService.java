@@ -0,0 +1,54 @@
+package com.blackcode.user_service.service.impl;
+
+import com.blackcode.user_service.dto.AddressDto;
+import com.blackcode.user_service.helper.NearCache;
+import com.blackcode.user_service.service.AddressClientService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Primary
+public class CachedAddressClientService implements AddressClientService {
+
+    private final AddressClientServiceImpl addressClientService;
+
+    private final NearCache<Long, AddressDto> addressNearCache;
+
+    public CachedAddressClientService(AddressClientServiceImpl addressClientService,
+                                     @Qualifier("addressNearCache") NearCache<Long, AddressDto> addressNearCache) {
+        this.addressClientService = addressClientService;
+        this.addressNearCache = addressNearCache;
+    }
+
+    @Override
+    public AddressDto getAddressById(Long addressId) {
+        return getAddressByIdAsync(addressId).block();
+    }
+
+    @Override
+    public Mono<AddressDto> getAddressByIdAsync(Long addressId) {
+        return addressNearCache.get(addressId, addressClientService::getAddressByIdAsync);
+    }
+
+    @Override
+    public Map<Long, AddressDto> getAddressByIds(Collection<Long> addressIds) {
+        return getAddressByIdsAsync(addressIds).block();
+    }
+
+    // Straight to the service, the near cache must not confirm an id the service could not
+    @Override
+    public Map<Long, AddressDto> getAddressByIdsStrict(Collection<Long> addressIds) {
+        return addressClientService.getAddressByIdsStrict(addressIds);
+    }
+
+    @Override
+    public Mono<Map<Long, AddressDto>> getAddressByIdsAsync(Collection<Long> addressIds) {
+        return addressNearCache.getAll(addressIds, missing -> addressClientService.getAddressByIdsAsync(List.copyOf(missing)));
+    }
+}
@@ -0,0 +1,54 @@
+package com.blackcode.user_service.service.impl;
+
+import com.blackcode.user_service.dto.DepartmentDto;
+import com.blackcode.user_service.helper.NearCache;
+import com.blackcode.user_service.service.DepartmentClientService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Primary
+public class CachedDepartmentClientService implements DepartmentClientService {
+
+    private final DepartmentClientServiceImpl departmentClientService;
+
+    private final NearCache<Long, DepartmentDto> departmentNearCache;
+
+    public CachedDepartmentClientService(DepartmentClientServiceImpl departmentClientService,
+                                        @Qualifier("departmentNearCache") NearCache<Long, DepartmentDto> departmentNearCache) {
+        this.departmentClientService = departmentClientService;
+        this.departmentNearCache = departmentNearCache;
+    }
+
+    @Override
+    public DepartmentDto getDepartmentById(Long departmentId) {
+        return getDepartmentByIdAsync(departmentId).block();
+    }
+
+    @Override
+    public Mono<DepartmentDto> getDepartmentByIdAsync(Long departmentId) {
+        return departmentNearCache.get(departmentId, departmentClientService::getDepartmentByIdAsync);
+    }
+
+    @Override
+    public Map<Long, DepartmentDto> getDepartmentByIds(Collection<Long> departmentIds) {
+        return getDepartmentByIdsAsync(departmentIds).block();
+    }
+
+    // Straight to the service, the near cache must not confirm an id the service could not
+    @Override
+    public Map<Long, DepartmentDto> getDepartmentByIdsStrict(Collection<Long> departmentIds) {
+        return departmentClientService.getDepartmentByIdsStrict(departmentIds);
+    }
+
+    @Override
+    public Mono<Map<Long, DepartmentDto>> getDepartmentByIdsAsync(Collection<Long> departmentIds) {
+        return departmentNearCache.getAll(departmentIds, missing -> departmentClientService.getDepartmentByIdsAsync(List.copyOf(missing)));
+    }
+}
@@ -2,10 +2,16 @@ package com.blackcode.user_service.service.impl;
 
 import com.blackcode.user_service.dto.DepartmentDto;
 import com.blackcode.user_service.exception.DataNotFoundException;
+import com.blackcode.user_service.helper.StaleStore;
 import com.blackcode.user_service.helper.TypeRefs;
 import com.blackcode.user_service.service.DepartmentClientService;
 import com.blackcode.user_service.utils.ApiResponse;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import io.github.resilience4j.retry.annotation.Retry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,9 +20,12 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.Duration;
+import java.util.*;
 
 @Service
 public class DepartmentClientServiceImpl implements DepartmentClientService {
@@ -25,10 +34,26 @@ public class DepartmentClientServiceImpl implements DepartmentClientService {
 
     private static final String DEPARTMENT_API_PATH = "/api/department/getDepartmentById/";
 
+    private static final String DEPARTMENT_BATCH_API_PATH = "/api/department/getDepartmentByIds";
+
+    private static final int BATCH_CHUNK_SIZE = 500;
+
     private final WebClient departmentClient;
 
-    public DepartmentClientServiceImpl(@Qualifier("departmentClient") WebClient departmentClient) {
+    private final Bulkhead departmentBulkhead;
+
+    private final StaleStore<Long, DepartmentDto> departmentStaleStore;
+
+    private final CircuitBreakerOperator<Map<Long, DepartmentDto>> refreshCircuitBreaker;
+
+    public DepartmentClientServiceImpl(@Qualifier("departmentClient") WebClient departmentClient,
+                                       @Qualifier("departmentStaleStore") StaleStore<Long, DepartmentDto> departmentStaleStore,
+                                       BulkheadRegistry bulkheadRegistry,
+                                       CircuitBreakerRegistry circuitBreakerRegistry) {
         this.departmentClient = departmentClient;
+        this.departmentStaleStore = departmentStaleStore;
+        this.departmentBulkhead = bulkheadRegistry.bulkhead("departmentService");
+        this.refreshCircuitBreaker = CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker("departmentService"));
     }
 
     @Override
@@ -37,11 +62,31 @@ public class DepartmentClientServiceImpl implements DepartmentClientService {
     public DepartmentDto getDepartmentById(Long departmentId) {
         if (departmentId == null) return null;
 
+        ApiResponse<DepartmentDto> response = fetchDepartment(departmentId).block();
+
+        if (response == null) {
+            logger.warn("No response for department ID {}", departmentId);
+            return null;
+        }
+        return response.getData();
+    }
+
+    @Override
+    @Retry(name = "departmentService")
+    @CircuitBreaker(name = "departmentService", fallbackMethod = "fallbackAsync")
+    public Mono<DepartmentDto> getDepartmentByIdAsync(Long departmentId) {
+        if (departmentId == null) return Mono.empty();
+
+        return fetchDepartment(departmentId)
+                .flatMap(response -> Mono.justOrEmpty(response.getData()));
+    }
+
+    private Mono<ApiResponse<DepartmentDto>> fetchDepartment(Long departmentId) {
         String uri = DEPARTMENT_API_PATH + departmentId;
 
         ParameterizedTypeReference<ApiResponse<DepartmentDto>> typeRef = TypeRefs.departmentDtoResponse();
 
-        ApiResponse<DepartmentDto> response = departmentClient.get()
+        return departmentClient.get()
                 .uri(uri)
                 .exchangeToMono(clientResponse -> {
                     HttpStatusCode status = clientResponse.statusCode();
@@ -50,24 +95,134 @@ public class DepartmentClientServiceImpl implements DepartmentClientService {
                     if (status.isError()) {
                         return clientResponse.bodyToMono(String.class).flatMap(errorBody -> {
                             logger.error("Error response body: {}", errorBody);
-                            return Mono.error(new DataNotFoundException("Department not found"));
+                            return Mono.error(status.value() == 404
+                                    ? new DataNotFoundException("Department not found")
+                                    : new IllegalStateException("Department lookup failed with status " + status.value()));
                         });
                     }
 
                     return clientResponse.bodyToMono(typeRef);
                 })
+                .transformDeferred(BulkheadOperator.of(departmentBulkhead))
                 .timeout(Duration.ofSeconds(3))
-                .block();
+                .doOnNext(response -> departmentStaleStore.put(departmentId, response.getData()));
+    }
 
-        if (response == null) {
-            logger.warn("No response for department ID {}", departmentId);
-            return null;
+    @Override
+    @Retry(name = "departmentService")
+    @CircuitBreaker(name = "departmentService", fallbackMethod = "fallbackBatch")
+    public Map<Long, DepartmentDto> getDepartmentByIds(Collection<Long> departmentIds) {
+        return fetchDepartments(departmentIds).block();
+    }
+
+    @Override
+    @Retry(name = "departmentService")
+    @CircuitBreaker(name = "departmentService")
+    public Map<Long, DepartmentDto> getDepartmentByIdsStrict(Collection<Long> departmentIds) {
+        return fetchDepartments(departmentIds).block();
+    }
+
+    @Override
+    @Retry(name = "departmentService")
+    @CircuitBreaker(name = "departmentService", fallbackMethod = "fallbackBatchAsync")
+    public Mono<Map<Long, DepartmentDto>> getDepartmentByIdsAsync(Collection<Long> departmentIds) {
+        return fetchDepartments(departmentIds);
+    }
+
+    private Mono<Map<Long, DepartmentDto>> fetchDepartments(Collection<Long> departmentIds) {
+        List<Long> ids = departmentIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) return Mono.just(new HashMap<>());
+
+        ParameterizedTypeReference<ApiResponse<List<DepartmentDto>>> typeRef = TypeRefs.departmentDtoListResponse();
+
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BATCH_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + BATCH_CHUNK_SIZE, ids.size())));
         }
-        return response.getData();
+
+        return Flux.fromIterable(chunks)
+                .concatMap(chunk -> departmentClient.post()
+                        .uri(DEPARTMENT_BATCH_API_PATH)
+                        .bodyValue(chunk)
+                        .exchangeToMono(clientResponse -> {
+                            HttpStatusCode status = clientResponse.statusCode();
+                            logger.info("Response status: {}", status);
+
+                            if (status.isError()) {
+                                return clientResponse.bodyToMono(String.class).flatMap(errorBody -> {
+                                    logger.error("Error response body: {}", errorBody);
+                                    return Mono.error(new IllegalStateException("Department batch lookup failed with status " + status.value()));
+                                });
+                            }
+
+                            return clientResponse.bodyToMono(typeRef);
+                        })
+                        .transformDeferred(BulkheadOperator.of(departmentBulkhead))
+                        .timeout(Duration.ofSeconds(3)))
+                .filter(response -> response.getData() != null)
+                .flatMapIterable(ApiResponse::getData)
+                .collectMap(DepartmentDto::getDepartmentId, department -> department, HashMap::new)
+                // Ids missing from a successful answer no longer exist and must not be served stale later
+                .doOnNext(found -> ids.forEach(id -> {
+                    if (found.containsKey(id)) departmentStaleStore.put(id, found.get(id));
+                    else departmentStaleStore.invalidate(id);
+                }));
+    }
+
+    public Map<Long, DepartmentDto> fallbackBatch(Collection<Long> departmentIds, Throwable throwable) {
+        logger.error("Gagal ambil data department untuk {} ID. Error: {}", departmentIds.size(), throwable.toString());
+        return staleDepartments(departmentIds);
+    }
+
+    public Mono<Map<Long, DepartmentDto>> fallbackBatchAsync(Collection<Long> departmentIds, Throwable throwable) {
+        logger.error("Gagal ambil data department untuk {} ID. Error: {}", departmentIds.size(), throwable.toString());
+        return Mono.just(staleDepartments(departmentIds));
     }
 
     public DepartmentDto fallback(Long departmentId, Throwable throwable) {
         logger.error("Gagal ambil data department untuk ID {}. Error: {}", departmentId, throwable.toString());
-        return null;
+        return staleDepartment(departmentId, throwable);
+    }
+
+    public Mono<DepartmentDto> fallbackAsync(Long departmentId, Throwable throwable) {
+        logger.error("Gagal ambil data department untuk ID {}. Error: {}", departmentId, throwable.toString());
+        return Mono.justOrEmpty(staleDepartment(departmentId, throwable));
+    }
+
+    private DepartmentDto staleDepartment(Long departmentId, Throwable throwable) {
+        if (throwable instanceof DataNotFoundException) {
+            departmentStaleStore.invalidate(departmentId);
+            return null;
+        }
+        Map<Long, DepartmentDto> stale = staleDepartments(List.of(departmentId));
+        return stale.get(departmentId);
+    }
+
+    private Map<Long, DepartmentDto> staleDepartments(Collection<Long> departmentIds) {
+        Map<Long, DepartmentDto> stale = new HashMap<>();
+        for (Long id : departmentIds) {
+            StaleStore.Stale<DepartmentDto> entry = departmentStaleStore.get(id);
+            if (entry != null) stale.put(id, markStale(entry));
+        }
+        refreshInBackground(stale.keySet());
+        return stale;
+    }
+
+    // Goes through the circuit breaker, so an open circuit turns refreshes into cheap rejections
+    private void refreshInBackground(Collection<Long> departmentIds) {
+        List<Long> due = departmentIds.stream().filter(departmentStaleStore::tryStartRefresh).toList();
+        if (due.isEmpty()) return;
+        fetchDepartments(due)
+                .transformDeferred(refreshCircuitBreaker)
+                // Subscribed off the request thread so the caller's spent deadline does not apply
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(refreshed -> logger.info("Refreshed {} stale department entries", refreshed.size()),
+                        e -> logger.debug("Background department refresh failed: {}", e.toString()));
+    }
+
+    private DepartmentDto markStale(StaleStore.Stale<DepartmentDto> entry) {
+        DepartmentDto value = entry.getValue();
+        return new DepartmentDto(value.getDepartmentId(), value.getDepartmentName(),
+                value.getDepartmentCode(), value.getDepartmentDescription(), entry.getAgeMs());
     }
 }
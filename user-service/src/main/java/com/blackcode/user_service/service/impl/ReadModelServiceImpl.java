@@ -0,0 +1,236 @@
+package com.blackcode.user_service.service.impl;
+
+import com.blackcode.user_service.dto.*;
+import com.blackcode.user_service.helper.AdaptiveTimeoutFilter;
+import com.blackcode.user_service.helper.ChangeFeedState;
+import com.blackcode.user_service.helper.NearCache;
+import com.blackcode.user_service.helper.TypeRefs;
+import com.blackcode.user_service.model.AddressView;
+import com.blackcode.user_service.model.DepartmentView;
+import com.blackcode.user_service.repository.AddressViewRepository;
+import com.blackcode.user_service.repository.DepartmentViewRepository;
+import com.blackcode.user_service.service.ReadModelService;
+import com.blackcode.user_service.utils.ApiResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.BiFunction;
+
+@Service
+public class ReadModelServiceImpl implements ReadModelService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadModelServiceImpl.class);
+
+    private static final Duration FEED_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final int PERSIST_FLUSH_SIZE = 500;
+
+    @Value("${blackcode.app.readModel.enabled:true}")
+    private boolean enabled;
+
+    @Value("${blackcode.app.readModel.pageSize:500}")
+    private int pageSize;
+
+    @Value("${blackcode.app.readModel.gapGraceMs:10000}")
+    private long gapGraceMs;
+
+    @Value("${blackcode.app.readModel.replayWindow:1000}")
+    private long replayWindow;
+
+    private final WebClient departmentClient;
+
+    private final WebClient addressClient;
+
+    private final DepartmentViewRepository departmentViewRepository;
+
+    private final AddressViewRepository addressViewRepository;
+
+    private final NearCache<Long, DepartmentDto> departmentNearCache;
+
+    private final NearCache<Long, AddressDto> addressNearCache;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ChangeFeedState departmentFeed;
+
+    private final ChangeFeedState addressFeed;
+
+    public ReadModelServiceImpl(@Qualifier("departmentClient") WebClient departmentClient,
+                                @Qualifier("addressClient") WebClient addressClient,
+                                DepartmentViewRepository departmentViewRepository,
+                                AddressViewRepository addressViewRepository,
+                                @Qualifier("departmentNearCache") NearCache<Long, DepartmentDto> departmentNearCache,
+                                @Qualifier("addressNearCache") NearCache<Long, AddressDto> addressNearCache,
+                                EntityManager entityManager,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.departmentClient = departmentClient;
+        this.addressClient = addressClient;
+        this.departmentViewRepository = departmentViewRepository;
+        this.addressViewRepository = addressViewRepository;
+        this.departmentNearCache = departmentNearCache;
+        this.addressNearCache = addressNearCache;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.departmentFeed = new ChangeFeedState("department", meterRegistry);
+        this.addressFeed = new ChangeFeedState("address", meterRegistry);
+    }
+
+    @Override
+    public boolean isReady() {
+        return enabled && departmentFeed.isReady() && addressFeed.isReady();
+    }
+
+    // The first run after startup finds both feeds unsynced and does the initial full resync
+    @Override
+    @Scheduled(fixedDelayString = "${blackcode.app.readModel.pollIntervalMs:2000}")
+    public void sync() {
+        if (!enabled) return;
+        syncFeed(departmentFeed, "/api/department", departmentClient,
+                TypeRefs.departmentChangeFeedResponse(), TypeRefs.departmentSnapshotResponse(),
+                departmentViewRepository, this::mapToDepartmentView, departmentNearCache);
+        syncFeed(addressFeed, "/api/address", addressClient,
+                TypeRefs.addressChangeFeedResponse(), TypeRefs.addressSnapshotResponse(),
+                addressViewRepository, this::mapToAddressView, addressNearCache);
+    }
+
+    private <T, V> void syncFeed(ChangeFeedState state, String basePath, WebClient client,
+                                 ParameterizedTypeReference<ApiResponse<ChangeFeedDto<T>>> feedType,
+                                 ParameterizedTypeReference<ApiResponse<SnapshotDto<T>>> snapshotType,
+                                 JpaRepository<V, Long> viewRepository, BiFunction<T, Long, V> toView,
+                                 NearCache<Long, T> nearCache) {
+        try {
+            if (!state.isReady()) {
+                resync(state, basePath, client, snapshotType, viewRepository, toView, nearCache);
+            }
+            while (true) {
+                ApiResponse<ChangeFeedDto<T>> response = client.get()
+                        .uri(basePath + "/changes?after={after}&limit={limit}", state.getAppliedVersion(), pageSize)
+                        .attribute(AdaptiveTimeoutFilter.SKIP_ATTRIBUTE, true)
+                        .retrieve()
+                        .bodyToMono(feedType)
+                        .timeout(FEED_TIMEOUT)
+                        .block();
+                ChangeFeedDto<T> feed = response != null ? response.getData() : null;
+                if (feed == null) return;
+                state.setLatestVersion(feed.getLatestVersion());
+                List<ChangeEventDto<T>> changes = feed.getChanges() != null ? feed.getChanges() : List.of();
+
+                List<ChangeEventDto<T>> contiguous = new ArrayList<>();
+                long previous = state.getAppliedVersion();
+                for (ChangeEventDto<T> change : changes) {
+                    if (!state.follows(change.getVersion(), previous)) break;
+                    contiguous.add(change);
+                    previous = change.getVersion();
+                }
+                if (!contiguous.isEmpty()) {
+                    applyChanges(contiguous, viewRepository, toView, nearCache);
+                    state.applied(previous);
+                }
+
+                if (contiguous.size() < changes.size()) {
+                    // A missing version is either a write still committing or a rolled-back id; wait, then give up and resync
+                    state.gapDetected();
+                    if (state.gapOlderThan(gapGraceMs)) {
+                        logger.warn("Version gap in {} change feed after {}, resyncing", state.getName(), state.getAppliedVersion());
+                        resync(state, basePath, client, snapshotType, viewRepository, toView, nearCache);
+                    }
+                    return;
+                }
+                state.gapResolved();
+                if (changes.size() < pageSize || state.getAppliedVersion() >= state.getLatestVersion()) {
+                    state.caughtUp();
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to sync {} read model: {}", state.getName(), e.toString());
+        }
+    }
+
+    // Replaces the view table in one transaction, then replays recent changes that may have raced the snapshot
+    private <T, V> void resync(ChangeFeedState state, String basePath, WebClient client,
+                               ParameterizedTypeReference<ApiResponse<SnapshotDto<T>>> snapshotType,
+                               JpaRepository<V, Long> viewRepository, BiFunction<T, Long, V> toView,
+                               NearCache<Long, T> nearCache) {
+        ApiResponse<SnapshotDto<T>> response = client.get()
+                .uri(basePath + "/snapshot")
+                .attribute(AdaptiveTimeoutFilter.SKIP_ATTRIBUTE, true)
+                .retrieve()
+                .bodyToMono(snapshotType)
+                .timeout(FEED_TIMEOUT)
+                .block();
+        SnapshotDto<T> snapshot = response != null ? response.getData() : null;
+        if (snapshot == null) {
+            throw new IllegalStateException("Empty " + state.getName() + " snapshot");
+        }
+
+        long snapshotVersion = snapshot.getVersion() != null ? snapshot.getVersion() : 0;
+        transactionTemplate.executeWithoutResult(status -> {
+            viewRepository.deleteAllInBatch();
+            int persisted = 0;
+            for (T item : snapshot.getItems()) {
+                entityManager.persist(toView.apply(item, snapshotVersion));
+                if (++persisted % PERSIST_FLUSH_SIZE == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+        nearCache.invalidateAll();
+
+        state.resynced(snapshotVersion, Math.max(0, snapshotVersion - replayWindow));
+        logger.info("Resynced {} read model with {} rows at version {}", state.getName(), snapshot.getItems().size(), snapshotVersion);
+    }
+
+    private <T, V> void applyChanges(List<ChangeEventDto<T>> changes, JpaRepository<V, Long> viewRepository,
+                                     BiFunction<T, Long, V> toView, NearCache<Long, T> nearCache) {
+        // Only the last change per entity matters within a page
+        Map<Long, ChangeEventDto<T>> latestById = new LinkedHashMap<>();
+        for (ChangeEventDto<T> change : changes) {
+            latestById.remove(change.getEntityId());
+            latestById.put(change.getEntityId(), change);
+        }
+
+        List<V> upserts = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+        for (ChangeEventDto<T> change : latestById.values()) {
+            if ("DELETE".equals(change.getChangeType()) || change.getData() == null) {
+                deletes.add(change.getEntityId());
+            } else {
+                upserts.add(toView.apply(change.getData(), change.getVersion()));
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!deletes.isEmpty()) viewRepository.deleteAllById(deletes);
+            if (!upserts.isEmpty()) viewRepository.saveAll(upserts);
+        });
+        latestById.keySet().forEach(nearCache::invalidate);
+    }
+
+    private DepartmentView mapToDepartmentView(DepartmentDto departmentDto, Long changeVersion) {
+        return new DepartmentView(departmentDto.getDepartmentId(), departmentDto.getDepartmentName(),
+                departmentDto.getDepartmentCode(), departmentDto.getDepartmentDescription(), changeVersion);
+    }
+
+    private AddressView mapToAddressView(AddressDto addressDto, Long changeVersion) {
+        return new AddressView(addressDto.getAddressId(), addressDto.getStreet(),
+                addressDto.getCity(), addressDto.getProvince(), changeVersion);
+    }
+}
@@ -0,0 +1,256 @@
+package com.blackcode.user_service.service.impl;
+
+import com.blackcode.user_service.dto.BulkItemRes;
+import com.blackcode.user_service.dto.BulkUpsertRes;
+import com.blackcode.user_service.dto.UserReq;
+import com.blackcode.user_service.model.AddressView;
+import com.blackcode.user_service.model.DepartmentView;
+import com.blackcode.user_service.model.User;
+import com.blackcode.user_service.repository.AddressViewRepository;
+import com.blackcode.user_service.repository.DepartmentViewRepository;
+import com.blackcode.user_service.repository.UserRepository;
+import com.blackcode.user_service.service.*;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Types;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+public class UserBulkServiceImpl implements UserBulkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserBulkServiceImpl.class);
+
+    private static final String UPSERT_USER_SQL =
+            "INSERT INTO tb_user (user_id, nama, email, department_id, address_id, version) VALUES (?, ?, ?, ?, ?, 0) " +
+            "ON CONFLICT (user_id) DO UPDATE SET nama = EXCLUDED.nama, email = EXCLUDED.email, " +
+            "department_id = EXCLUDED.department_id, address_id = EXCLUDED.address_id, version = tb_user.version + 1";
+
+    private static final String STATUS_CREATED = "CREATED";
+
+    private static final String STATUS_UPDATED = "UPDATED";
+
+    private static final String STATUS_FAILED = "FAILED";
+
+    // Not written because a dependency could not confirm the item; it can be resent unchanged
+    private static final String STATUS_UNAVAILABLE = "UNAVAILABLE";
+
+    @Value("${blackcode.app.bulk.chunkSize:1000}")
+    private int chunkSize;
+
+    @Value("${blackcode.app.bulk.maxItems:100000}")
+    private int maxItems;
+
+    private final UserRepository userRepository;
+
+    private final DepartmentViewRepository departmentViewRepository;
+
+    private final AddressViewRepository addressViewRepository;
+
+    private final DepartmentClientService departmentClientService;
+
+    private final AddressClientService addressClientService;
+
+    private final ReadModelService readModelService;
+
+    private final UserSearchService userSearchService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public UserBulkServiceImpl(UserRepository userRepository,
+                               DepartmentViewRepository departmentViewRepository,
+                               AddressViewRepository addressViewRepository,
+                               DepartmentClientService departmentClientService,
+                               AddressClientService addressClientService,
+                               ReadModelService readModelService,
+                               UserSearchService userSearchService,
+                               JdbcTemplate jdbcTemplate,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.departmentViewRepository = departmentViewRepository;
+        this.addressViewRepository = addressViewRepository;
+        this.departmentClientService = departmentClientService;
+        this.addressClientService = addressClientService;
+        this.readModelService = readModelService;
+        this.userSearchService = userSearchService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Accepts a JSON array or newline-delimited objects and reads them incrementally, one chunk at a time
+    @Override
+    public BulkUpsertRes bulkUpsertUsers(InputStream inputStream) throws IOException {
+        BulkUpsertRes report = new BulkUpsertRes(0, 0, 0, 0, false, new ArrayList<>());
+        List<UserReq> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        try (MappingIterator<UserReq> iterator = objectMapper.readerFor(UserReq.class).readValues(inputStream)) {
+            while (iterator.hasNextValue()) {
+                if (index == maxItems) {
+                    report.setTruncated(true);
+                    break;
+                }
+                chunk.add(iterator.nextValue());
+                index++;
+                if (chunk.size() == chunkSize) {
+                    processChunk(chunk, index - chunk.size(), report);
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // Earlier chunks are already committed, so the report of what was written is still returned
+            logger.warn("Bulk upsert stopped at item {}: {}", index, e.getOriginalMessage());
+            if (!chunk.isEmpty()) {
+                processChunk(chunk, index - chunk.size(), report);
+                chunk.clear();
+            }
+            report.getItems().add(failed(index, null, "Malformed item, this and any later items were not read: " + e.getOriginalMessage()));
+            report.setFailed(report.getFailed() + 1);
+            report.setTruncated(true);
+            index++;
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, index - chunk.size(), report);
+        }
+        report.setTotal(index);
+        logger.info("Bulk upsert processed {} users: {} created, {} updated, {} failed",
+                index, report.getCreated(), report.getUpdated(), report.getFailed());
+        return report;
+    }
+
+    private void processChunk(List<UserReq> chunk, int firstIndex, BulkUpsertRes report) {
+        BulkItemRes[] results = new BulkItemRes[chunk.size()];
+
+        // A later item for the same user replaces an earlier one in the same chunk
+        Map<String, Integer> lastPositionByUserId = new HashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            UserReq userReq = chunk.get(i);
+            if (userReq == null || userReq.getUserId() == null || userReq.getUserId().isBlank()) {
+                results[i] = failed(firstIndex + i, null, "userId is required");
+                continue;
+            }
+            Integer previous = lastPositionByUserId.put(userReq.getUserId(), i);
+            if (previous != null) {
+                results[previous] = failed(firstIndex + previous, userReq.getUserId(), "Superseded by a later item with the same userId");
+            }
+        }
+
+        Set<Long> departmentIds = lastPositionByUserId.values().stream()
+                .map(i -> chunk.get(i).getDepartmentId()).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> addressIds = lastPositionByUserId.values().stream()
+                .map(i -> chunk.get(i).getAddressId()).filter(Objects::nonNull).collect(Collectors.toSet());
+        // Null when the lookup failed; items depending on it are then neither accepted nor rejected
+        Set<Long> knownDepartmentIds = existingDepartmentIds(departmentIds);
+        Set<Long> knownAddressIds = existingAddressIds(addressIds);
+
+        List<Integer> valid = new ArrayList<>();
+        for (int i : lastPositionByUserId.values()) {
+            UserReq userReq = chunk.get(i);
+            if (userReq.getDepartmentId() != null && knownDepartmentIds == null) {
+                results[i] = unavailable(firstIndex + i, userReq.getUserId(), "Department service unavailable");
+            } else if (userReq.getDepartmentId() != null && !knownDepartmentIds.contains(userReq.getDepartmentId())) {
+                results[i] = failed(firstIndex + i, userReq.getUserId(), "Department not found: " + userReq.getDepartmentId());
+            } else if (userReq.getAddressId() != null && knownAddressIds == null) {
+                results[i] = unavailable(firstIndex + i, userReq.getUserId(), "Address service unavailable");
+            } else if (userReq.getAddressId() != null && !knownAddressIds.contains(userReq.getAddressId())) {
+                results[i] = failed(firstIndex + i, userReq.getUserId(), "Address not found: " + userReq.getAddressId());
+            } else {
+                valid.add(i);
+            }
+        }
+        valid.sort(Comparator.naturalOrder());
+
+        if (!valid.isEmpty()) {
+            List<UserReq> rows = valid.stream().map(chunk::get).toList();
+            try {
+                Set<String> existing = transactionTemplate.execute(status -> {
+                    Set<String> existingIds = new HashSet<>(userRepository.findExistingUserIds(
+                            rows.stream().map(UserReq::getUserId).toList()));
+                    jdbcTemplate.batchUpdate(UPSERT_USER_SQL, rows, rows.size(), (ps, userReq) -> {
+                        ps.setString(1, userReq.getUserId());
+                        ps.setString(2, userReq.getNama());
+                        ps.setString(3, userReq.getEmail());
+                        ps.setObject(4, userReq.getDepartmentId(), Types.BIGINT);
+                        ps.setObject(5, userReq.getAddressId(), Types.BIGINT);
+                    });
+                    return existingIds;
+                });
+                for (int i : valid) {
+                    UserReq userReq = chunk.get(i);
+                    String status = existing.contains(userReq.getUserId()) ? STATUS_UPDATED : STATUS_CREATED;
+                    results[i] = new BulkItemRes(firstIndex + i, userReq.getUserId(), status, null);
+                    userSearchService.index(new User(userReq.getUserId(), userReq.getNama(), userReq.getEmail(),
+                            userReq.getDepartmentId(), userReq.getAddressId(), null));
+                }
+            } catch (Exception e) {
+                logger.error("Bulk upsert chunk starting at {} failed: {}", firstIndex, e.getMessage());
+                for (int i : valid) {
+                    results[i] = failed(firstIndex + i, chunk.get(i).getUserId(), "Batch write failed");
+                }
+            }
+        }
+
+        for (BulkItemRes result : results) {
+            switch (result.getStatus()) {
+                case STATUS_CREATED -> report.setCreated(report.getCreated() + 1);
+                case STATUS_UPDATED -> report.setUpdated(report.getUpdated() + 1);
+                default -> report.setFailed(report.getFailed() + 1);
+            }
+            report.getItems().add(result);
+        }
+    }
+
+    // The local read model answers without a network call once it is synced; a stale answer is no proof of absence
+    private Set<Long> existingDepartmentIds(Set<Long> departmentIds) {
+        if (departmentIds.isEmpty()) return Set.of();
+        if (readModelService.isReady()) {
+            return departmentViewRepository.findAllById(departmentIds).stream()
+                    .map(DepartmentView::getDepartmentId).collect(Collectors.toSet());
+        }
+        try {
+            return departmentClientService.getDepartmentByIdsStrict(departmentIds).keySet();
+        } catch (RuntimeException e) {
+            logger.warn("Department lookup for bulk upsert failed: {}", e.toString());
+            return null;
+        }
+    }
+
+    private Set<Long> existingAddressIds(Set<Long> addressIds) {
+        if (addressIds.isEmpty()) return Set.of();
+        if (readModelService.isReady()) {
+            return addressViewRepository.findAllById(addressIds).stream()
+                    .map(AddressView::getAddressId).collect(Collectors.toSet());
+        }
+        try {
+            return addressClientService.getAddressByIdsStrict(addressIds).keySet();
+        } catch (RuntimeException e) {
+            logger.warn("Address lookup for bulk upsert failed: {}", e.toString());
+            return null;
+        }
+    }
+
+    private BulkItemRes failed(int index, String userId, String error) {
+        return new BulkItemRes(index, userId, STATUS_FAILED, error);
+    }
+
+    private BulkItemRes unavailable(int index, String userId, String error) {
+        return new BulkItemRes(index, userId, STATUS_UNAVAILABLE, error);
+    }
+}
@@ -0,0 +1,150 @@
+package com.blackcode.user_service.service.impl;
+
+import com.blackcode.user_service.dto.AddressDto;
+import com.blackcode.user_service.dto.DepartmentDto;
+import com.blackcode.user_service.dto.UserRes;
+import com.blackcode.user_service.model.User;
+import com.blackcode.user_service.repository.UserRepository;
+import com.blackcode.user_service.service.AddressClientService;
+import com.blackcode.user_service.service.DepartmentClientService;
+import com.blackcode.user_service.service.UserExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class UserExportServiceImpl implements UserExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserExportServiceImpl.class);
+
+    private static final String CSV_HEADER =
+            "userId,nama,email,departmentId,departmentName,departmentCode,addressId,street,city,province\n";
+
+    @Value("${blackcode.app.export.batchSize:500}")
+    private int batchSize;
+
+    private final UserRepository userRepository;
+
+    private final DepartmentClientService departmentClientService;
+
+    private final AddressClientService addressClientService;
+
+    private final ObjectMapper objectMapper;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public UserExportServiceImpl(UserRepository userRepository,
+                                 DepartmentClientService departmentClientService,
+                                 AddressClientService addressClientService,
+                                 ObjectMapper objectMapper,
+                                 EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.departmentClientService = departmentClientService;
+        this.addressClientService = addressClientService;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void exportUsers(String format, OutputStream outputStream) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (csv) {
+            outputStream.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+
+        try {
+            long exported = readOnlyTransaction.execute(status -> {
+                long count = 0;
+                List<User> batch = new ArrayList<>(batchSize);
+                try (Stream<User> users = userRepository.streamAllOrderByUserId()) {
+                    Iterator<User> iterator = users.iterator();
+                    while (iterator.hasNext()) {
+                        batch.add(iterator.next());
+                        if (batch.size() >= batchSize) {
+                            count += writeBatch(batch, csv, outputStream);
+                        }
+                    }
+                    count += writeBatch(batch, csv, outputStream);
+                }
+                return count;
+            });
+            logger.info("Exported {} users as {}", exported, csv ? "csv" : "ndjson");
+        } catch (UncheckedIOException e) {
+            // Client disconnected or the connection stalled, the cursor is closed by the transaction
+            throw e.getCause();
+        }
+    }
+
+    // Enriches one batch with a single lookup per dependency, writes it and releases the entities
+    private int writeBatch(List<User> batch, boolean csv, OutputStream outputStream) {
+        if (batch.isEmpty()) return 0;
+
+        Set<Long> departmentIds = batch.stream().map(User::getDepartmentId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> addressIds = batch.stream().map(User::getAddressId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, DepartmentDto> departments = departmentClientService.getDepartmentByIds(departmentIds);
+        Map<Long, AddressDto> addresses = addressClientService.getAddressByIds(addressIds);
+
+        try {
+            for (User user : batch) {
+                DepartmentDto department = departments.get(user.getDepartmentId());
+                AddressDto address = addresses.get(user.getAddressId());
+                if (csv) {
+                    outputStream.write(toCsvLine(user, department, address).getBytes(StandardCharsets.UTF_8));
+                } else {
+                    outputStream.write(objectMapper.writeValueAsBytes(new UserRes(
+                            user.getUserId(), user.getNama(), user.getEmail(), department, address)));
+                    outputStream.write('\n');
+                }
+            }
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        int written = batch.size();
+        batch.clear();
+        entityManager.clear();
+        return written;
+    }
+
+    private String toCsvLine(User user, DepartmentDto department, AddressDto address) {
+        return String.join(",",
+                csvField(user.getUserId()),
+                csvField(user.getNama()),
+                csvField(user.getEmail()),
+                csvField(user.getDepartmentId()),
+                csvField(department != null ? department.getDepartmentName() : null),
+                csvField(department != null ? department.getDepartmentCode() : null),
+                csvField(user.getAddressId()),
+                csvField(address != null ? address.getStreet() : null),
+                csvField(address != null ? address.getCity() : null),
+                csvField(address != null ? address.getProvince() : null)) + "\n";
+    }
+
+    private String csvField(Object value) {
+        if (value == null) return "";
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -0,0 +1,110 @@
+package com.blackcode.user_service.service.impl;
+
+import com.blackcode.user_service.dto.UserSearchHitRes;
+import com.blackcode.user_service.dto.UserSearchPageRes;
+import com.blackcode.user_service.helper.UserSearchIndex;
+import com.blackcode.user_service.model.User;
+import com.blackcode.user_service.repository.UserRepository;
+import com.blackcode.user_service.service.UserSearchService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class UserSearchServiceImpl implements UserSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchServiceImpl.class);
+
+    private static final int BUILD_CLEAR_INTERVAL = 1000;
+
+    @Value("${blackcode.app.search.maxPageSize:100}")
+    private int maxPageSize;
+
+    @Value("${blackcode.app.search.maxResultWindow:10000}")
+    private int maxResultWindow;
+
+    private final UserSearchIndex index = new UserSearchIndex();
+
+    private final UserRepository userRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public UserSearchServiceImpl(UserRepository userRepository,
+                                 EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        Gauge.builder("user.search.index.size", index, UserSearchIndex::size).register(meterRegistry);
+    }
+
+    // Writes and deletes that land while the build streams the table win over the rows it read earlier
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        long started = System.currentTimeMillis();
+        index.startBuild();
+        Integer indexed;
+        try {
+            indexed = readOnlyTransaction.execute(status -> {
+                int count = 0;
+                int read = 0;
+                try (Stream<User> users = userRepository.streamAllOrderByUserId()) {
+                    Iterator<User> iterator = users.iterator();
+                    while (iterator.hasNext()) {
+                        User user = iterator.next();
+                        if (index.addIfAbsent(user.getUserId(), user.getNama(), user.getEmail())) count++;
+                        if (++read % BUILD_CLEAR_INTERVAL == 0) entityManager.clear();
+                    }
+                }
+                return count;
+            });
+        } finally {
+            index.finishBuild();
+        }
+        logger.info("User search index built with {} users in {} ms", indexed, System.currentTimeMillis() - started);
+    }
+
+    @Override
+    public UserSearchPageRes searchUsers(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        int pageNumber = Math.max(page, 0);
+        if ((long) pageNumber * pageSize + pageSize > maxResultWindow) {
+            throw new IllegalArgumentException("Search results are limited to the first " + maxResultWindow + " hits");
+        }
+
+        UserSearchIndex.SearchResult result = index.search(query, pageNumber * pageSize, pageSize);
+        List<UserSearchHitRes> content = result.getHits().stream()
+                .map(hit -> new UserSearchHitRes(hit.getUserId(), hit.getNama(), hit.getEmail(), hit.getScore()))
+                .toList();
+        return new UserSearchPageRes(content, pageNumber, pageSize, result.getTotalHits());
+    }
+
+    @Override
+    public void index(User user) {
+        index.upsert(user.getUserId(), user.getNama(), user.getEmail());
+    }
+
+    @Override
+    public void remove(String userId) {
+        index.remove(userId);
+    }
+}
@@ -2,64 +2,158 @@ package com.blackcode.user_service.service.impl;
 
 import com.blackcode.user_service.dto.*;
 import com.blackcode.user_service.exception.DataNotFoundException;
+import com.blackcode.user_service.helper.CursorCodec;
+import com.blackcode.user_service.helper.EtagUtils;
 import com.blackcode.user_service.helper.TypeRefs;
+import com.blackcode.user_service.helper.UserProjection;
+import com.blackcode.user_service.model.AddressView;
+import com.blackcode.user_service.model.DepartmentView;
+import com.blackcode.user_service.model.EnrichedUser;
 import com.blackcode.user_service.model.User;
 import com.blackcode.user_service.repository.UserRepository;
 import com.blackcode.user_service.service.AddressClientService;
 import com.blackcode.user_service.service.DepartmentClientService;
+import com.blackcode.user_service.service.ReadModelService;
+import com.blackcode.user_service.service.UserSearchService;
 import com.blackcode.user_service.service.UserService;
 import com.blackcode.user_service.utils.ApiResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.time.Duration;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 public class UserServiceImpl implements UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
 
+    private static final int MAX_IDS_PER_REQUEST = 1000;
+
     private final UserRepository userRepository;
 
     private final DepartmentClientService departmentClientService;
 
     private final AddressClientService addressClientService;
 
+    private final ReadModelService readModelService;
+
+    private final UserSearchService userSearchService;
+
+    @Value("${blackcode.app.enrichmentDeadlineMs:3000}")
+    private long enrichmentDeadlineMs;
+
+    @Value("${blackcode.app.userPage.maxSize:200}")
+    private int maxPageSize;
+
+    private final Scheduler jpaScheduler;
+
     public UserServiceImpl(UserRepository userRepository,
                            DepartmentClientService departmentClientService,
-                           AddressClientService addressClientService) {
+                           AddressClientService addressClientService,
+                           ReadModelService readModelService,
+                           UserSearchService userSearchService,
+                           @Qualifier("jpaScheduler") Scheduler jpaScheduler) {
         this.userRepository = userRepository;
         this.departmentClientService = departmentClientService;
         this.addressClientService = addressClientService;
+        this.readModelService = readModelService;
+        this.userSearchService = userSearchService;
+        this.jpaScheduler = jpaScheduler;
     }
 
     @Override
-    public List<UserRes> getAllUser() {
-        List<User> userList = userRepository.findAll();
-        return userList.stream().map(user -> {
-            DepartmentDto department = departmentClientService.getDepartmentById(user.getDepartmentId());
-            AddressDto address = addressClientService.getAddressById(user.getAddressId());
-            return mapToUserRes(user, department, address);
-        }).toList();
+    public Mono<UserPageRes> getAllUser(String cursor, int size, UserProjection projection) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        String afterUserId = CursorCodec.decode(cursor);
+
+        // One extra row tells whether another page exists without a count query
+        Limit limit = Limit.of(pageSize + 1);
+        if (readModelService.isReady()) {
+            return Mono.fromCallable(() -> afterUserId == null
+                            ? userRepository.findEnrichedPage(limit)
+                            : userRepository.findEnrichedPageAfter(afterUserId, limit))
+                    .subscribeOn(jpaScheduler)
+                    .flatMap(rows -> {
+                        boolean hasNext = rows.size() > pageSize;
+                        List<EnrichedUser> page = hasNext ? rows.subList(0, pageSize) : rows;
+                        String nextCursor = hasNext ? CursorCodec.encode(page.get(page.size() - 1).getUser().getUserId()) : null;
+                        return mapEnrichedToUserResList(page, projection)
+                                .map(content -> new UserPageRes(content, content.size(), nextCursor));
+                    });
+        }
+        return Mono.fromCallable(() -> afterUserId == null
+                        ? userRepository.findAllByOrderByUserIdAsc(limit)
+                        : userRepository.findByUserIdGreaterThanOrderByUserIdAsc(afterUserId, limit))
+                .subscribeOn(jpaScheduler)
+                .flatMap(userList -> {
+                    boolean hasNext = userList.size() > pageSize;
+                    List<User> page = hasNext ? userList.subList(0, pageSize) : userList;
+                    String nextCursor = hasNext ? CursorCodec.encode(page.get(page.size() - 1).getUserId()) : null;
+                    return mapToUserResList(page, projection)
+                            .map(content -> new UserPageRes(content, content.size(), nextCursor));
+                });
     }
 
     @Override
-    public UserRes getUserById(String userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new DataNotFoundException("User not found with ID: "+userId));
+    public Mono<UserRes> getUserById(String userId, UserProjection projection) {
+        if (readModelService.isReady()) {
+            return Mono.fromCallable(() -> userRepository.findEnrichedById(userId)
+                            .orElseThrow(() -> new DataNotFoundException("User not found with ID: "+userId)))
+                    .subscribeOn(jpaScheduler)
+                    .flatMap(row -> mapEnrichedToUserResList(List.of(row), projection))
+                    .map(userResList -> userResList.get(0));
+        }
+        return Mono.fromCallable(() -> userRepository.findById(userId)
+                        .orElseThrow(() -> new DataNotFoundException("User not found with ID: "+userId)))
+                .subscribeOn(jpaScheduler)
+                .flatMap(user -> enrichUser(user, projection));
+    }
 
-        DepartmentDto department = departmentClientService.getDepartmentById(user.getDepartmentId());
-        AddressDto address = addressClientService.getAddressById(user.getAddressId());
-        return mapToUserRes(user, department, address);
+    // Callers that only need a few fields skip the relation lookups entirely through the projection
+    @Override
+    public Mono<List<UserRes>> getUserByIds(Collection<String> userIds, UserProjection projection) {
+        if (userIds.size() > MAX_IDS_PER_REQUEST) {
+            return Mono.error(new IllegalArgumentException("At most " + MAX_IDS_PER_REQUEST + " ids can be requested at once"));
+        }
+        if (userIds.isEmpty()) return Mono.just(List.of());
+        if (readModelService.isReady()) {
+            return Mono.fromCallable(() -> userRepository.findEnrichedByIds(userIds))
+                    .subscribeOn(jpaScheduler)
+                    .flatMap(rows -> mapEnrichedToUserResList(rows, projection));
+        }
+        return Mono.fromCallable(() -> userRepository.findAllById(userIds))
+                .subscribeOn(jpaScheduler)
+                .flatMap(userList -> mapToUserResList(userList, projection));
+    }
+
+    // Only defined while relations come from the read model, whose rows carry the versions to combine
+    @Override
+    public Mono<String> getUserEtag(String userId, UserProjection projection) {
+        // Only relations in the representation count, so a department change leaves base-field ETags valid
+        boolean withDepartment = projection.includes(UserProjection.DEPARTMENT);
+        boolean withAddress = projection.includes(UserProjection.ADDRESS);
+        if ((withDepartment || withAddress) && !readModelService.isReady()) return Mono.empty();
+        return Mono.fromCallable(() -> userRepository.findVersionsById(userId))
+                .subscribeOn(jpaScheduler)
+                .flatMap(Mono::justOrEmpty)
+                .map(versions -> {
+                    String value = String.valueOf(versions.getUserVersion());
+                    if (withDepartment) value += "." + Objects.requireNonNullElse(versions.getDepartmentVersion(), 0L);
+                    if (withAddress) value += "." + Objects.requireNonNullElse(versions.getAddressVersion(), 0L);
+                    String key = projection.key();
+                    return EtagUtils.weak(key.isEmpty() ? value : value + "-" + key);
+                });
     }
 
     @Override
@@ -71,12 +165,13 @@ public class UserServiceImpl implements UserService {
         user.setDepartmentId(userReq.getDepartmentId());
         user.setAddressId(userReq.getAddressId());
         User saveUser = userRepository.save(user);
+        userSearchService.index(saveUser);
 
         return mapToUserResSyn(saveUser);
     }
 
     @Override
-    public UserRes updateUser(String userId, UserReq userReq) {
+    public UserRes updateUser(String userId, UserReq userReq, UserProjection projection) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new DataNotFoundException("User not found with ID: "+userId));
 
@@ -86,9 +181,13 @@ public class UserServiceImpl implements UserService {
         user.setAddressId(userReq.getAddressId());
 
         User updateUser = userRepository.save(user);
-        DepartmentDto department = departmentClientService.getDepartmentById(updateUser.getDepartmentId());
-        AddressDto address = addressClientService.getAddressById(updateUser.getAddressId());
-        return mapToUserRes(updateUser, department, address);
+        userSearchService.index(updateUser);
+        if (readModelService.isReady()) {
+            EnrichedUser row = userRepository.findEnrichedById(updateUser.getUserId())
+                    .orElseThrow(() -> new DataNotFoundException("User not found with ID: "+userId));
+            return mapEnrichedToUserResList(List.of(row), projection).block().get(0);
+        }
+        return enrichUser(updateUser, projection).block();
     }
 
     @Override
@@ -96,12 +195,94 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new DataNotFoundException("User not found with ID: "+userId));
         userRepository.deleteById(userId);
+        userSearchService.remove(userId);
         Map<String, Object> responseData = new HashMap<>();
         responseData.put("deletedUserId", userId);
         responseData.put("info", "The User was removed from the database.");
         return responseData;
     }
 
+    // Department and address are fetched concurrently, so latency is that of the slower lookup
+    private Mono<UserRes> enrichUser(User user, UserProjection projection){
+        Mono<Optional<DepartmentDto>> department = projection.includes(UserProjection.DEPARTMENT)
+                ? withinDeadline(departmentClientService.getDepartmentByIdAsync(user.getDepartmentId()), "department", user.getUserId())
+                : Mono.just(Optional.empty());
+        Mono<Optional<AddressDto>> address = projection.includes(UserProjection.ADDRESS)
+                ? withinDeadline(addressClientService.getAddressByIdAsync(user.getAddressId()), "address", user.getUserId())
+                : Mono.just(Optional.empty());
+
+        return Mono.zip(department, address)
+                .map(tuple -> mapToUserRes(user, tuple.getT1().orElse(null), tuple.getT2().orElse(null)));
+    }
+
+    // Both lookups are subscribed together by zip, so this acts as one deadline for the whole enrichment
+    private <T> Mono<Optional<T>> withinDeadline(Mono<T> lookup, String relation, String userId){
+        return lookup.map(Optional::of)
+                .timeout(Duration.ofMillis(enrichmentDeadlineMs))
+                .onErrorResume(e -> {
+                    logger.warn("Failed to enrich {} for user {}: {}", relation, userId, e.toString());
+                    return Mono.just(Optional.empty());
+                })
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    // Relations come from the local read model; only ids it does not hold yet go to the remote services
+    private Mono<List<UserRes>> mapEnrichedToUserResList(List<EnrichedUser> rows, UserProjection projection){
+        Map<Long, DepartmentDto> knownDepartments = new HashMap<>();
+        Map<Long, AddressDto> knownAddresses = new HashMap<>();
+        List<User> userList = new ArrayList<>(rows.size());
+        for (EnrichedUser row : rows) {
+            userList.add(row.getUser());
+            if (row.getDepartment() != null) {
+                knownDepartments.put(row.getDepartment().getDepartmentId(), mapToDepartmentDto(row.getDepartment()));
+            }
+            if (row.getAddress() != null) {
+                knownAddresses.put(row.getAddress().getAddressId(), mapToAddressDto(row.getAddress()));
+            }
+        }
+        return mapToUserResList(userList, projection, knownDepartments, knownAddresses);
+    }
+
+    private Mono<List<UserRes>> mapToUserResList(List<User> userList, UserProjection projection){
+        return mapToUserResList(userList, projection, Map.of(), Map.of());
+    }
+
+    // Resolves departments and addresses with one batched call per dependency instead of two calls per user
+    private Mono<List<UserRes>> mapToUserResList(List<User> userList, UserProjection projection,
+                                                 Map<Long, DepartmentDto> knownDepartments,
+                                                 Map<Long, AddressDto> knownAddresses){
+        Set<Long> departmentIds = projection.includes(UserProjection.DEPARTMENT)
+                ? userList.stream().map(User::getDepartmentId)
+                        .filter(id -> id != null && !knownDepartments.containsKey(id)).collect(Collectors.toSet())
+                : Set.of();
+        Set<Long> addressIds = projection.includes(UserProjection.ADDRESS)
+                ? userList.stream().map(User::getAddressId)
+                        .filter(id -> id != null && !knownAddresses.containsKey(id)).collect(Collectors.toSet())
+                : Set.of();
+
+        return Mono.zip(departmentClientService.getDepartmentByIdsAsync(departmentIds),
+                        addressClientService.getAddressByIdsAsync(addressIds))
+                .map(tuple -> {
+                    Map<Long, DepartmentDto> departments = new HashMap<>(knownDepartments);
+                    departments.putAll(tuple.getT1());
+                    Map<Long, AddressDto> addresses = new HashMap<>(knownAddresses);
+                    addresses.putAll(tuple.getT2());
+                    return userList.stream()
+                            .map(user -> mapToUserRes(user, departments.get(user.getDepartmentId()), addresses.get(user.getAddressId())))
+                            .toList();
+                });
+    }
+
+    private DepartmentDto mapToDepartmentDto(DepartmentView departmentView){
+        return new DepartmentDto(departmentView.getDepartmentId(), departmentView.getDepartmentName(),
+                departmentView.getDepartmentCode(), departmentView.getDepartmentDescription(), null);
+    }
+
+    private AddressDto mapToAddressDto(AddressView addressView){
+        return new AddressDto(addressView.getAddressId(), addressView.getStreet(),
+                addressView.getCity(), addressView.getProvince(), null);
+    }
+
     private UserRes mapToUserRes(User user, DepartmentDto departmentDto, AddressDto addressDto){
         UserRes userRes = new UserRes();
         userRes.setUserId(user.getUserId());
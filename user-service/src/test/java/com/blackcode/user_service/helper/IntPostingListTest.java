@@ -0,0 +1,66 @@
+package com.blackcode.user_service.helper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntPostingListTest {
+
+    @Test
+    void ignoresRepeatedTrailingDoc() {
+        IntPostingList list = new IntPostingList();
+        list.add(1);
+        list.add(1);
+        list.add(4);
+        assertThat(list.size()).isEqualTo(2);
+        assertThat(list.get(0)).isEqualTo(1);
+        assertThat(list.get(1)).isEqualTo(4);
+    }
+
+    @Test
+    void advanceFindsFirstDocAtOrAfterTarget() {
+        IntPostingList list = listOf(0, 3, 7, 8, 20, 21, 50, 99);
+
+        assertThat(list.advance(0, 0)).isEqualTo(0);
+        assertThat(list.advance(0, 7)).isEqualTo(2);
+        assertThat(list.advance(0, 9)).isEqualTo(4);
+        assertThat(list.advance(2, 21)).isEqualTo(5);
+        assertThat(list.advance(3, 51)).isEqualTo(7);
+        // Past the last doc the cursor lands on size()
+        assertThat(list.advance(0, 100)).isEqualTo(list.size());
+        // Never moves backwards from the lower bound
+        assertThat(list.advance(4, 3)).isEqualTo(4);
+    }
+
+    @Test
+    void advanceAgreesWithLinearScanOverLongList() {
+        IntPostingList list = new IntPostingList();
+        for (int doc = 0; doc < 10_000; doc += 3) {
+            list.add(doc);
+        }
+        int cursor = 0;
+        for (int target = 0; target < 10_010; target += 7) {
+            cursor = list.advance(cursor, target);
+            int expected = 0;
+            while (expected < list.size() && list.get(expected) < target) expected++;
+            assertThat(cursor).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void trimKeepsContent() {
+        IntPostingList list = listOf(2, 5, 9);
+        list.trimToSize();
+        list.add(11);
+        assertThat(list.size()).isEqualTo(4);
+        assertThat(list.advance(0, 10)).isEqualTo(3);
+    }
+
+    private static IntPostingList listOf(int... docs) {
+        IntPostingList list = new IntPostingList();
+        for (int doc : docs) {
+            list.add(doc);
+        }
+        return list;
+    }
+}
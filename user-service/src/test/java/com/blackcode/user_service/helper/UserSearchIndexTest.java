@@ -0,0 +1,121 @@
+package com.blackcode.user_service.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserSearchIndexTest {
+
+    @Test
+    void ranksBestMatchFirstRegardlessOfInsertionOrder() {
+        UserSearchIndex index = new UserSearchIndex();
+        for (int i = 0; i < 20_000; i++) {
+            index.upsert("u" + i, "Bob Anderson " + i, "user" + i + "@example.com");
+        }
+        // Indexed last, but the only user whose name starts with the query
+        index.upsert("anna", "Anna", "anna@example.com");
+
+        UserSearchIndex.SearchResult result = index.search("an", 0, 5);
+
+        assertThat(result.getTotalHits()).isEqualTo(20_001);
+        assertThat(result.getHits()).hasSize(5);
+        assertThat(result.getHits().get(0).getUserId()).isEqualTo("anna");
+    }
+
+    @Test
+    void ranksNameStartOverEmailStartOverTokenMatches() {
+        UserSearchIndex index = new UserSearchIndex();
+        index.upsert("email-token", "Zed", "zed.kim@example.com");
+        index.upsert("name-token", "Lee Kim", "lee@example.com");
+        index.upsert("email-start", "Bo", "kim@example.com");
+        index.upsert("name-start", "Kimberly Long Name", "kl@example.com");
+
+        assertThat(ids(index.search("kim", 0, 10)))
+                .containsExactly("name-start", "email-start", "name-token", "email-token");
+        // A window of one still finds the best hit, wherever it sits in the index
+        assertThat(ids(index.search("kim", 0, 1))).containsExactly("name-start");
+        assertThat(ids(index.search("kim", 3, 1))).containsExactly("email-token");
+    }
+
+    @Test
+    void pagesDeepIntoBroadQueries() {
+        UserSearchIndex index = new UserSearchIndex();
+        for (int i = 0; i < 12_000; i++) {
+            index.upsert(String.format("u%05d", i), "Sam", "sam" + i + "@example.com");
+        }
+
+        UserSearchIndex.SearchResult page = index.search("sam", 9_990, 10);
+
+        assertThat(page.getTotalHits()).isEqualTo(12_000);
+        assertThat(page.getHits()).extracting(UserSearchIndex.Hit::getUserId)
+                .containsExactly("u09990", "u09991", "u09992", "u09993", "u09994",
+                        "u09995", "u09996", "u09997", "u09998", "u09999");
+    }
+
+    @Test
+    void matchesMiddleOfTokenThroughTrigrams() {
+        UserSearchIndex index = new UserSearchIndex();
+        index.upsert("1", "Maria Gonzales", "maria@example.com");
+        index.upsert("2", "Mario Rossi", "mario@example.com");
+
+        assertThat(ids(index.search("onzal", 0, 10))).containsExactly("1");
+        assertThat(ids(index.search("mari", 0, 10))).containsExactlyInAnyOrder("1", "2");
+        assertThat(ids(index.search("xyz", 0, 10))).isEmpty();
+    }
+
+    @Test
+    void updateReplacesAndRemoveHidesUser() {
+        UserSearchIndex index = new UserSearchIndex();
+        index.upsert("1", "Alice", "alice@example.com");
+        index.upsert("1", "Beatrice", "beatrice@example.com");
+
+        assertThat(ids(index.search("alice", 0, 10))).isEmpty();
+        assertThat(ids(index.search("beatrice", 0, 10))).containsExactly("1");
+
+        index.remove("1");
+        assertThat(ids(index.search("beatrice", 0, 10))).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void buildDoesNotResurrectUserRemovedMeanwhile() {
+        UserSearchIndex index = new UserSearchIndex();
+        index.startBuild();
+        // Deleted before the build reached its row, the build still read the old row
+        index.remove("1");
+        assertThat(index.addIfAbsent("1", "Ghost", "ghost@example.com")).isFalse();
+        // A row written meanwhile is newer than the one the build read
+        index.upsert("2", "Fresh", "fresh@example.com");
+        assertThat(index.addIfAbsent("2", "Stale", "stale@example.com")).isFalse();
+        assertThat(index.addIfAbsent("3", "Carol", "carol@example.com")).isTrue();
+        index.finishBuild();
+
+        assertThat(ids(index.search("ghost", 0, 10))).isEmpty();
+        assertThat(ids(index.search("fresh", 0, 10))).containsExactly("2");
+        assertThat(ids(index.search("carol", 0, 10))).containsExactly("3");
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void compactionKeepsLiveUsersSearchable() {
+        UserSearchIndex index = new UserSearchIndex();
+        for (int i = 0; i < 30_000; i++) {
+            index.upsert("u" + i, "Name" + i, "n" + i + "@example.com");
+        }
+        // Enough rewrites to cross the compaction threshold
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 30_000; i++) {
+                index.upsert("u" + i, "Name" + i, "n" + i + "@example.com");
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(30_000);
+        assertThat(ids(index.search("name12345", 0, 10))).containsExactly("u12345");
+    }
+
+    private static List<String> ids(UserSearchIndex.SearchResult result) {
+        return result.getHits().stream().map(UserSearchIndex.Hit::getUserId).toList();
+    }
+}
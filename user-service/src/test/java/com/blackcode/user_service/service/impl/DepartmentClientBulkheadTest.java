@@ -0,0 +1,114 @@
+package com.blackcode.user_service.service.impl;
+
+import com.blackcode.user_service.dto.DepartmentDto;
+import com.blackcode.user_service.helper.StaleStore;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.springboot3.bulkhead.autoconfigure.BulkheadAutoConfiguration;
+import io.github.resilience4j.springboot3.bulkhead.autoconfigure.BulkheadMetricsAutoConfiguration;
+import io.github.resilience4j.springboot3.circuitbreaker.autoconfigure.CircuitBreakerAutoConfiguration;
+import io.github.resilience4j.springboot3.retry.autoconfigure.RetryAutoConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// The department-service bulkhead as application.yml configures it, with a single permit so one hanging call saturates it
+@SpringBootTest(classes = DepartmentClientBulkheadTest.Config.class,
+        properties = "resilience4j.bulkhead.instances.departmentService.maxConcurrentCalls=1")
+class DepartmentClientBulkheadTest {
+
+    private static final long HANGING_ID = 99L;
+
+    private static final AtomicInteger exchanges = new AtomicInteger();
+
+    @Autowired
+    private DepartmentClientServiceImpl departmentClientService;
+
+    @Autowired
+    @Qualifier("departmentStaleStore")
+    private StaleStore<Long, DepartmentDto> departmentStaleStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void saturatedDependencyIsRejectedAndServedFromTheFallback() {
+        departmentStaleStore.put(1L, new DepartmentDto(1L, "Finance", "FIN", null, null));
+        Disposable hanging = departmentClientService.getDepartmentByIdAsync(HANGING_ID).subscribe();
+        int exchangesBefore = exchanges.get();
+        assertThat(meterRegistry.get("resilience4j.bulkhead.available.concurrent.calls")
+                .tag("name", "departmentService").gauge().value()).isZero();
+
+        DepartmentDto department = departmentClientService.getDepartmentById(1L);
+
+        // Answered from the last-known-good copy without reaching department-service
+        assertThat(department.getDepartmentName()).isEqualTo("Finance");
+        assertThat(department.getStaleAgeMs()).isNotNull();
+        assertThat(exchanges.get()).isEqualTo(exchangesBefore);
+        // The strict lookup has no fallback and reports the rejection itself
+        assertThatThrownBy(() -> departmentClientService.getDepartmentByIdsStrict(List.of(1L)))
+                .isInstanceOf(BulkheadFullException.class);
+
+        hanging.dispose();
+
+        DepartmentDto live = departmentClientService.getDepartmentById(1L);
+        assertThat(live.getStaleAgeMs()).isNull();
+        assertThat(exchanges.get()).isGreaterThan(exchangesBefore);
+    }
+
+    @Configuration
+    @Import(DepartmentClientServiceImpl.class)
+    @ImportAutoConfiguration({AopAutoConfiguration.class, CircuitBreakerAutoConfiguration.class,
+            RetryAutoConfiguration.class, BulkheadAutoConfiguration.class, BulkheadMetricsAutoConfiguration.class})
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        @Qualifier("departmentStaleStore")
+        StaleStore<Long, DepartmentDto> departmentStaleStore(MeterRegistry meterRegistry) {
+            return new StaleStore<>("department", 100, Duration.ofHours(1), Duration.ofMinutes(1), meterRegistry);
+        }
+
+        // Department 99 never answers; every other id is found
+        @Bean
+        @Qualifier("departmentClient")
+        WebClient departmentClient() {
+            return WebClient.builder()
+                    .exchangeFunction(request -> {
+                        exchanges.incrementAndGet();
+                        if (request.url().getPath().endsWith("/" + HANGING_ID)) return Mono.never();
+                        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .body("{\"status\":\"success\",\"statusCode\":200,\"data\":"
+                                        + "{\"departmentId\":1,\"departmentName\":\"Finance\",\"departmentCode\":\"FIN\"}}")
+                                .build());
+                    })
+                    .build();
+        }
+    }
+}